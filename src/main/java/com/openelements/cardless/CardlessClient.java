@@ -5,10 +5,25 @@ import com.openelements.cardless.data.Balance;
 import com.openelements.cardless.data.Institution;
 import com.openelements.cardless.data.Requisition;
 import com.openelements.cardless.data.RequisitionsPage;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
 import com.openelements.cardless.data.Transactions;
 import com.openelements.cardless.internal.CardlessClientImpl;
+import com.openelements.cardless.internal.DecodedTransactionView;
+import com.openelements.cardless.internal.FanOutSource;
+import com.openelements.cardless.internal.PullPublisher;
+import com.openelements.cardless.transport.CardlessTransport;
 import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 import org.jspecify.annotations.NonNull;
 
 public interface CardlessClient {
@@ -18,6 +33,11 @@ public interface CardlessClient {
         return new CardlessClientImpl(secretId, secretKey);
     }
 
+    static CardlessClient create(@NonNull final String secretId, @NonNull final String secretKey,
+            @NonNull final CardlessTransport transport) throws CardlessException {
+        return new CardlessClientImpl(secretId, secretKey, transport);
+    }
+
     @NonNull
     RequisitionsPage getRequisitions(final int limit, final int offset)
             throws CardlessException;
@@ -36,9 +56,98 @@ public interface CardlessClient {
     @NonNull
     Transactions getTransactions(@NonNull final String account) throws CardlessException;
 
+    /**
+     * Returns views on the booked and then the pending transactions of an account. Fields are decoded on first
+     * access, so reading only some fields of many transactions is cheap. The default implementation wraps the
+     * result of {@link #getTransactions(String)}, fields that are not part of the transaction records are
+     * {@code null}.
+     */
+    @NonNull
+    default List<TransactionView> getTransactionViews(@NonNull final String account) throws CardlessException {
+        Objects.requireNonNull(account, "account must not be null");
+        final Transactions transactions = getTransactions(account);
+        return Stream.concat(transactions.bookedTransactions().stream(), transactions.pendingTransactions().stream())
+                .<TransactionView>map(DecodedTransactionView::new)
+                .toList();
+    }
+
     @NonNull
     Account getAccount(@NonNull final String id) throws CardlessException;
 
     @NonNull
     List<Balance> getBalances(@NonNull final String accountId) throws CardlessException;
+
+    /**
+     * Prepares the client for latency-sensitive use: opens connections to the API, fetches and caches the
+     * institutions of the configured countries and runs the JSON mapping code on sample payloads, all in parallel.
+     * The returned future completes once all steps are done, failed steps are listed in the report. Connections are
+     * refreshed periodically until the next call of this method; only the configured countries are cached. The
+     * default implementation does nothing and returns an empty successful report.
+     */
+    @NonNull
+    default CompletableFuture<WarmUpReport> warmUp(@NonNull final WarmUpConfig config) {
+        Objects.requireNonNull(config, "config must not be null");
+        return CompletableFuture.completedFuture(new WarmUpReport(Duration.ZERO, Map.of(), 0, Map.of()));
+    }
+
+    /**
+     * Publishes the booked and then the pending transactions of an account, one item per transaction. The default
+     * implementation fetches all transactions by {@link #getTransactions(String)} once the first item is requested.
+     */
+    default Flow.@NonNull Publisher<Transaction> publishTransactions(@NonNull final String accountId) {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+        return new PullPublisher<>(() -> {
+            final Transactions transactions = getTransactions(accountId);
+            final Iterator<Transaction> iterator = Stream.concat(transactions.bookedTransactions().stream(),
+                    transactions.pendingTransactions().stream()).map(Transaction.class::cast).iterator();
+            return () -> iterator.hasNext() ? iterator.next() : null;
+        }, e -> e);
+    }
+
+    /**
+     * Publishes the transactions of several accounts in the given order. Up to {@code concurrency} accounts are
+     * fetched at the same time, each buffering a bounded number of transactions.
+     */
+    default Flow.@NonNull Publisher<Transaction> publishTransactions(@NonNull final Collection<String> accountIds,
+            final int concurrency) {
+        Objects.requireNonNull(accountIds, "accountIds must not be null");
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        final List<String> accounts = List.copyOf(accountIds);
+        return new PullPublisher<>(() -> new FanOutSource<>(accounts.iterator(), this::publishTransactions,
+                concurrency, 64), e -> e);
+    }
+
+    /**
+     * Publishes all requisitions. Pages of {@code pageSize} requisitions are only fetched when the subscriber requests
+     * more items than the already fetched pages contain.
+     */
+    default Flow.@NonNull Publisher<Requisition> publishRequisitions(final int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        return new PullPublisher<>(() -> new PullPublisher.Source<>() {
+
+            private Iterator<Requisition> page = Collections.emptyIterator();
+
+            private int offset;
+
+            private boolean lastPage;
+
+            @Override
+            public Requisition next() throws CardlessException {
+                while (!page.hasNext()) {
+                    if (lastPage) {
+                        return null;
+                    }
+                    final RequisitionsPage requisitionsPage = getRequisitions(pageSize, offset);
+                    offset += requisitionsPage.requisitions().size();
+                    lastPage = requisitionsPage.next() == null || requisitionsPage.requisitions().isEmpty();
+                    page = requisitionsPage.requisitions().iterator();
+                }
+                return page.next();
+            }
+        }, e -> e);
+    }
 }
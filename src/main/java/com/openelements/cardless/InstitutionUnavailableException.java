@@ -0,0 +1,30 @@
+package com.openelements.cardless;
+
+import java.time.Duration;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Thrown without calling the API when the circuit breaker of an institution is open.
+ */
+public class InstitutionUnavailableException extends CardlessException {
+
+    private final String institutionId;
+
+    private final Duration retryAfter;
+
+    public InstitutionUnavailableException(@NonNull final String institutionId, @NonNull final Duration retryAfter) {
+        super("Institution '" + institutionId + "' is unavailable, retry after " + retryAfter);
+        this.institutionId = institutionId;
+        this.retryAfter = retryAfter;
+    }
+
+    @NonNull
+    public String getInstitutionId() {
+        return institutionId;
+    }
+
+    @NonNull
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
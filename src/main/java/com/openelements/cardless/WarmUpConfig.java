@@ -0,0 +1,38 @@
+package com.openelements.cardless;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Configuration of {@link CardlessClient#warmUp(WarmUpConfig)}.
+ *
+ * @param countries            countries whose institutions are fetched and cached
+ * @param institutionsCacheTtl time the fetched institutions are served by {@link CardlessClient#getInstitutions(String)}
+ *                             without an API call
+ * @param connections          number of connections that are opened to the API
+ * @param keepAliveInterval    interval in which the connections are refreshed, {@link Duration#ZERO} to disable it;
+ *                             the JDK client closes idle connections after 30 seconds by default
+ * @param mappingIterations    number of times the JSON mapping code is run on embedded sample payloads, 0 to skip it
+ */
+public record WarmUpConfig(@NonNull List<String> countries, @NonNull Duration institutionsCacheTtl, int connections,
+                           @NonNull Duration keepAliveInterval, int mappingIterations) {
+
+    public WarmUpConfig {
+        countries = List.copyOf(Objects.requireNonNull(countries, "countries must not be null"));
+        Objects.requireNonNull(institutionsCacheTtl, "institutionsCacheTtl must not be null");
+        Objects.requireNonNull(keepAliveInterval, "keepAliveInterval must not be null");
+        if (keepAliveInterval.isNegative()) {
+            throw new IllegalArgumentException("keepAliveInterval must not be negative");
+        }
+        if (connections < 0 || mappingIterations < 0) {
+            throw new IllegalArgumentException("connections and mappingIterations must not be negative");
+        }
+    }
+
+    @NonNull
+    public static WarmUpConfig of(@NonNull final String... countries) {
+        return new WarmUpConfig(List.of(countries), Duration.ofHours(6), 4, Duration.ofSeconds(25), 2_000);
+    }
+}
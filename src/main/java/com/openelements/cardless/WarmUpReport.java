@@ -0,0 +1,28 @@
+package com.openelements.cardless;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Result of {@link CardlessClient#warmUp(WarmUpConfig)}.
+ *
+ * @param duration          time the warm-up took
+ * @param institutionCounts number of cached institutions per country
+ * @param mappingIterations number of completed runs of the mapping code
+ * @param failures          error message per failed step
+ */
+public record WarmUpReport(@NonNull Duration duration, @NonNull Map<String, Integer> institutionCounts,
+                           int mappingIterations, @NonNull Map<String, String> failures) {
+
+    public WarmUpReport {
+        Objects.requireNonNull(duration, "duration must not be null");
+        institutionCounts = Map.copyOf(Objects.requireNonNull(institutionCounts, "institutionCounts must not be null"));
+        failures = Map.copyOf(Objects.requireNonNull(failures, "failures must not be null"));
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
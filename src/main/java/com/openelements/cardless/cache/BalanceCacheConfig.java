@@ -0,0 +1,29 @@
+package com.openelements.cardless.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Configuration of a {@link CachingCardlessClient}.
+ *
+ * @param defaultMaxStaleness maximum age of a cached value for calls that do not define one
+ * @param dailyBalanceQuota   number of balance calls per account and day (UTC) the API allows
+ */
+public record BalanceCacheConfig(@NonNull Duration defaultMaxStaleness, int dailyBalanceQuota) {
+
+    public BalanceCacheConfig {
+        Objects.requireNonNull(defaultMaxStaleness, "defaultMaxStaleness must not be null");
+        if (dailyBalanceQuota < 1) {
+            throw new IllegalArgumentException("dailyBalanceQuota must be positive");
+        }
+    }
+
+    /**
+     * Values are reused for 15 minutes and the quota is the default limit of 4 balance calls per account and day.
+     */
+    @NonNull
+    public static BalanceCacheConfig defaults() {
+        return new BalanceCacheConfig(Duration.ofMinutes(15), 4);
+    }
+}
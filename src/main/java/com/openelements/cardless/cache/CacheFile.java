@@ -0,0 +1,170 @@
+package com.openelements.cardless.cache;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.openelements.cardless.cache.CacheState.DailyCount;
+import com.openelements.cardless.data.Account;
+import com.openelements.cardless.data.Amount;
+import com.openelements.cardless.data.Balance;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Stores a {@link CacheState} as a JSON file. The file is replaced atomically, so a crash never leaves a partially
+ * written cache behind. There is no locking or merging of concurrent writers, so a file must only be used by a single
+ * process.
+ */
+final class CacheFile {
+
+    private CacheFile() {
+    }
+
+    @NonNull
+    static CacheState load(@NonNull final Path file) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        final CacheState state = new CacheState();
+        if (!Files.exists(file)) {
+            return state;
+        }
+        final JsonObject jsonObject = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8))
+                .getAsJsonObject();
+        jsonObject.getAsJsonObject("balances").entrySet().forEach(entry -> {
+            final JsonObject cached = entry.getValue().getAsJsonObject();
+            final List<Balance> balances = new ArrayList<>();
+            cached.getAsJsonArray("value").forEach(json -> balances.add(readBalance(json.getAsJsonObject())));
+            state.balances.put(entry.getKey(), new CachedValue<>(List.copyOf(balances),
+                    Instant.parse(cached.get("fetchedAt").getAsString())));
+        });
+        jsonObject.getAsJsonObject("accounts").entrySet().forEach(entry -> {
+            final JsonObject cached = entry.getValue().getAsJsonObject();
+            state.accounts.put(entry.getKey(), new CachedValue<>(readAccount(cached.getAsJsonObject("value")),
+                    Instant.parse(cached.get("fetchedAt").getAsString())));
+        });
+        jsonObject.getAsJsonObject("callCounts").entrySet().forEach(entry -> {
+            final JsonObject count = entry.getValue().getAsJsonObject();
+            state.callCounts.put(entry.getKey(), new DailyCount(LocalDate.parse(count.get("day").getAsString()),
+                    count.get("count").getAsInt()));
+        });
+        return state;
+    }
+
+    static void save(@NonNull final Path file, @NonNull final CacheState state) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        Objects.requireNonNull(state, "state must not be null");
+        final JsonObject balances = new JsonObject();
+        state.balances.forEach((accountId, cached) -> {
+            final JsonArray values = new JsonArray();
+            cached.value().forEach(balance -> values.add(writeBalance(balance)));
+            balances.add(accountId, writeCached(values, cached.fetchedAt()));
+        });
+        final JsonObject accounts = new JsonObject();
+        state.accounts.forEach((accountId, cached) ->
+                accounts.add(accountId, writeCached(writeAccount(cached.value()), cached.fetchedAt())));
+        final JsonObject callCounts = new JsonObject();
+        state.callCounts.forEach((key, count) -> {
+            final JsonObject json = new JsonObject();
+            json.addProperty("day", count.day().toString());
+            json.addProperty("count", count.count());
+            callCounts.add(key, json);
+        });
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.add("balances", balances);
+        jsonObject.add("accounts", accounts);
+        jsonObject.add("callCounts", callCounts);
+
+        final Path absoluteFile = file.toAbsolutePath();
+        final Path temporaryFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName().toString(),
+                ".tmp");
+        try {
+            Files.writeString(temporaryFile, jsonObject.toString(), StandardCharsets.UTF_8);
+            Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    @NonNull
+    private static JsonObject writeCached(@NonNull final JsonElement value, @NonNull final Instant fetchedAt) {
+        final JsonObject json = new JsonObject();
+        json.add("value", value);
+        json.addProperty("fetchedAt", fetchedAt.toString());
+        return json;
+    }
+
+    @NonNull
+    private static JsonObject writeBalance(@NonNull final Balance balance) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("currency", balance.balanceAmount().currency());
+        json.addProperty("amount", balance.balanceAmount().amount().toPlainString());
+        json.addProperty("balanceType", balance.balanceType());
+        json.addProperty("referenceDate", toStringOrNull(balance.referenceDate()));
+        return json;
+    }
+
+    @NonNull
+    private static Balance readBalance(@NonNull final JsonObject json) {
+        final Amount amount = new Amount(json.get("currency").getAsString(),
+                new BigDecimal(json.get("amount").getAsString()));
+        final String referenceDate = getAsStringOrNull(json.get("referenceDate"));
+        return new Balance(amount, getAsStringOrNull(json.get("balanceType")),
+                referenceDate != null ? LocalDate.parse(referenceDate) : null);
+    }
+
+    @NonNull
+    private static JsonObject writeAccount(@NonNull final Account account) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("id", account.id());
+        json.addProperty("created", toStringOrNull(account.created()));
+        json.addProperty("lastAccessed", toStringOrNull(account.lastAccessed()));
+        json.addProperty("iban", account.iban());
+        json.addProperty("bban", account.bban());
+        json.addProperty("status", account.status());
+        json.addProperty("institutionId", account.institutionId());
+        json.addProperty("ownerName", account.owner_name());
+        json.addProperty("name", account.name());
+        return json;
+    }
+
+    @NonNull
+    private static Account readAccount(@NonNull final JsonObject json) {
+        final String created = getAsStringOrNull(json.get("created"));
+        final String lastAccessed = getAsStringOrNull(json.get("lastAccessed"));
+        return new Account(json.get("id").getAsString(),
+                created != null ? ZonedDateTime.parse(created) : null,
+                lastAccessed != null ? ZonedDateTime.parse(lastAccessed) : null,
+                getAsStringOrNull(json.get("iban")),
+                getAsStringOrNull(json.get("bban")),
+                getAsStringOrNull(json.get("status")),
+                getAsStringOrNull(json.get("institutionId")),
+                getAsStringOrNull(json.get("ownerName")),
+                getAsStringOrNull(json.get("name")));
+    }
+
+    @Nullable
+    private static String toStringOrNull(@Nullable final Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    @Nullable
+    private static String getAsStringOrNull(@Nullable final JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        return element.getAsString();
+    }
+}
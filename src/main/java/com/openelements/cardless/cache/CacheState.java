@@ -0,0 +1,24 @@
+package com.openelements.cardless.cache;
+
+import com.openelements.cardless.data.Account;
+import com.openelements.cardless.data.Balance;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mutable state of a {@link CachingCardlessClient}: the cached values and the number of API calls per account,
+ * endpoint and day.
+ */
+final class CacheState {
+
+    record DailyCount(LocalDate day, int count) {
+    }
+
+    final Map<String, CachedValue<List<Balance>>> balances = new ConcurrentHashMap<>();
+
+    final Map<String, CachedValue<Account>> accounts = new ConcurrentHashMap<>();
+
+    final Map<String, DailyCount> callCounts = new ConcurrentHashMap<>();
+}
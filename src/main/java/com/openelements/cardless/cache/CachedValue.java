@@ -0,0 +1,24 @@
+package com.openelements.cardless.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A value together with the time it was fetched from the API.
+ */
+public record CachedValue<T>(@NonNull T value, @NonNull Instant fetchedAt) {
+
+    public CachedValue {
+        Objects.requireNonNull(value, "value must not be null");
+        Objects.requireNonNull(fetchedAt, "fetchedAt must not be null");
+    }
+
+    @NonNull
+    public Duration age(@NonNull final Clock clock) {
+        Objects.requireNonNull(clock, "clock must not be null");
+        return Duration.between(fetchedAt, clock.instant());
+    }
+}
@@ -0,0 +1,267 @@
+package com.openelements.cardless.cache;
+
+import com.openelements.cardless.ApiCallException;
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.CardlessException;
+import com.openelements.cardless.cache.CacheState.DailyCount;
+import com.openelements.cardless.WarmUpConfig;
+import com.openelements.cardless.WarmUpReport;
+import com.openelements.cardless.data.Account;
+import com.openelements.cardless.data.Balance;
+import com.openelements.cardless.data.Institution;
+import com.openelements.cardless.data.Requisition;
+import com.openelements.cardless.data.RequisitionsPage;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
+import com.openelements.cardless.data.Transactions;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client that caches balances and account metadata. Callers define the maximum staleness they accept for every read;
+ * younger cached values are returned without an API call. The client counts the balance calls per account and day
+ * (UTC). Once the daily quota of an account is used up, the most recent cached value is returned regardless
+ * of its age. Only calls made through this instance are counted; if the API rejects a call with status 429 because
+ * other services have used up a shared quota, the quota is marked as used up for the day and the cached value is
+ * returned as well. Concurrent reads of the same account wait for a single API call.
+ * <p>
+ * If a cache file is given, cached values and call counts are written to it after every API call and loaded on
+ * construction, so the cache survives restarts. The file is read only once and overwritten by every write, so it
+ * must not be shared between processes.
+ */
+public class CachingCardlessClient implements CardlessClient {
+
+    private final static Logger log = LoggerFactory.getLogger(CachingCardlessClient.class);
+
+    public enum Endpoint {
+        BALANCES, ACCOUNT
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T execute() throws CardlessException;
+    }
+
+    private final CardlessClient delegate;
+
+    private final BalanceCacheConfig config;
+
+    @Nullable
+    private final Path cacheFile;
+
+    private final Clock clock;
+
+    private final CacheState state;
+
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public CachingCardlessClient(@NonNull final CardlessClient delegate, @NonNull final BalanceCacheConfig config) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.config = Objects.requireNonNull(config, "config must not be null");
+        this.cacheFile = null;
+        this.clock = Clock.systemUTC();
+        this.state = new CacheState();
+    }
+
+    public CachingCardlessClient(@NonNull final CardlessClient delegate, @NonNull final BalanceCacheConfig config,
+            @NonNull final Path cacheFile, @NonNull final Clock clock) throws IOException {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.config = Objects.requireNonNull(config, "config must not be null");
+        this.cacheFile = Objects.requireNonNull(cacheFile, "cacheFile must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.state = CacheFile.load(cacheFile);
+    }
+
+    @NonNull
+    public CachedValue<List<Balance>> getBalances(@NonNull final String accountId,
+            @NonNull final Duration maxStaleness) throws CardlessException {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+        return read(Endpoint.BALANCES, accountId, maxStaleness, state.balances,
+                () -> delegate.getBalances(accountId));
+    }
+
+    @NonNull
+    public CachedValue<Account> getAccount(@NonNull final String id, @NonNull final Duration maxStaleness)
+            throws CardlessException {
+        Objects.requireNonNull(id, "id must not be null");
+        return read(Endpoint.ACCOUNT, id, maxStaleness, state.accounts, () -> delegate.getAccount(id));
+    }
+
+    /**
+     * Returns the number of API calls that are left today for the given account and endpoint,
+     * {@link Integer#MAX_VALUE} for endpoints without a daily quota.
+     */
+    public int getRemainingQuota(@NonNull final String accountId, @NonNull final Endpoint endpoint) {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+        Objects.requireNonNull(endpoint, "endpoint must not be null");
+        if (endpoint != Endpoint.BALANCES) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(0, quota(endpoint) - getCallsToday(endpoint, accountId));
+    }
+
+    @NonNull
+    private <T> CachedValue<T> read(@NonNull final Endpoint endpoint, @NonNull final String accountId,
+            @NonNull final Duration maxStaleness, @NonNull final Map<String, CachedValue<T>> cache,
+            @NonNull final Call<T> call) throws CardlessException {
+        Objects.requireNonNull(maxStaleness, "maxStaleness must not be null");
+        final String key = key(endpoint, accountId);
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            final CachedValue<T> cached = cache.get(accountId);
+            if (cached != null && cached.age(clock).compareTo(maxStaleness) <= 0) {
+                return cached;
+            }
+            if (cached != null && getCallsToday(endpoint, accountId) >= quota(endpoint)) {
+                log.debug("Daily quota for {} of account {} is used up, returning value fetched at {}", endpoint,
+                        accountId, cached.fetchedAt());
+                return cached;
+            }
+            final T value;
+            try {
+                value = call.execute();
+            } catch (CardlessException e) {
+                if (cached == null || !isRateLimited(e)) {
+                    throw e;
+                }
+                log.debug("API rate limit for {} of account {} is reached, returning value fetched at {}", endpoint,
+                        accountId, cached.fetchedAt());
+                if (endpoint == Endpoint.BALANCES) {
+                    state.callCounts.put(key, new DailyCount(LocalDate.now(clock.withZone(ZoneOffset.UTC)),
+                            quota(endpoint)));
+                    persist();
+                }
+                return cached;
+            }
+            final LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+            state.callCounts.merge(key, new DailyCount(today, 1), (existing, added) ->
+                    existing.day().equals(today) ? new DailyCount(today, existing.count() + 1) : added);
+            final CachedValue<T> fresh = new CachedValue<>(value, clock.instant());
+            cache.put(accountId, fresh);
+            persist();
+            return fresh;
+        }
+    }
+
+    private static boolean isRateLimited(@NonNull final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (cause instanceof ApiCallException apiCallException && apiCallException.getErrorMessage() != null) {
+                return apiCallException.getErrorMessage().status_code() == 429;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private int getCallsToday(@NonNull final Endpoint endpoint, @NonNull final String accountId) {
+        final DailyCount count = state.callCounts.get(key(endpoint, accountId));
+        final LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        return count != null && count.day().equals(today) ? count.count() : 0;
+    }
+
+    /**
+     * The account metadata endpoint is not limited per day, only the account details endpoint is, which this client
+     * does not call.
+     */
+    private int quota(@NonNull final Endpoint endpoint) {
+        return endpoint == Endpoint.BALANCES ? config.dailyBalanceQuota() : Integer.MAX_VALUE;
+    }
+
+    @NonNull
+    private static String key(@NonNull final Endpoint endpoint, @NonNull final String accountId) {
+        return endpoint.name() + "/" + accountId;
+    }
+
+    private void persist() {
+        if (cacheFile == null) {
+            return;
+        }
+        synchronized (state) {
+            try {
+                CacheFile.save(cacheFile, state);
+            } catch (IOException e) {
+                log.warn("Error writing balance cache to '{}'", cacheFile, e);
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<Balance> getBalances(@NonNull final String accountId) throws CardlessException {
+        return getBalances(accountId, config.defaultMaxStaleness()).value();
+    }
+
+    @NonNull
+    @Override
+    public CompletableFuture<WarmUpReport> warmUp(@NonNull final WarmUpConfig config) {
+        return delegate.warmUp(config);
+    }
+
+    @NonNull
+    @Override
+    public Account getAccount(@NonNull final String id) throws CardlessException {
+        return getAccount(id, config.defaultMaxStaleness()).value();
+    }
+
+    @NonNull
+    @Override
+    public Transactions getTransactions(@NonNull final String account) throws CardlessException {
+        return delegate.getTransactions(account);
+    }
+
+    @NonNull
+    @Override
+    public List<TransactionView> getTransactionViews(@NonNull final String account) throws CardlessException {
+        return delegate.getTransactionViews(account);
+    }
+
+    @Override
+    public Flow.@NonNull Publisher<Transaction> publishTransactions(@NonNull final String accountId) {
+        return delegate.publishTransactions(accountId);
+    }
+
+    @NonNull
+    @Override
+    public RequisitionsPage getRequisitions(final int limit, final int offset) throws CardlessException {
+        return delegate.getRequisitions(limit, offset);
+    }
+
+    @NonNull
+    @Override
+    public List<Institution> getInstitutions(@NonNull final String country) throws CardlessException {
+        return delegate.getInstitutions(country);
+    }
+
+    @NonNull
+    @Override
+    public Institution getInstitution(@NonNull final String institutionId) throws CardlessException {
+        return delegate.getInstitution(institutionId);
+    }
+
+    @NonNull
+    @Override
+    public Requisition createRequisition(@NonNull final String institutionId, @NonNull final URI redirect)
+            throws CardlessException {
+        return delegate.createRequisition(institutionId, redirect);
+    }
+
+    @Override
+    public void deleteRequisition(@NonNull final String requisitionId) throws CardlessException {
+        delegate.deleteRequisition(requisitionId);
+    }
+}
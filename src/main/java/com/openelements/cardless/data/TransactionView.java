@@ -0,0 +1,56 @@
+package com.openelements.cardless.data;
+
+import com.openelements.cardless.money.Money;
+import java.time.LocalDate;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * View of a booked or pending transaction that decodes its fields on first access. Next to the fields of
+ * {@link BookedTransaction} it exposes fields that are not part of the transaction records.
+ */
+public interface TransactionView extends Transaction {
+
+    boolean isBooked();
+
+    @Nullable
+    String transactionId();
+
+    /**
+     * Returns the amount in minor units, parsed without creating a {@link java.math.BigDecimal}. Returns {@code null}
+     * if the amount has more fraction digits than its currency, in that case {@link #transactionAmount()} must be
+     * used.
+     */
+    @Nullable
+    Money transactionMoney();
+
+    @Nullable
+    LocalDate bookingDate();
+
+    @Nullable
+    String counterpartyName();
+
+    @NonNull
+    CounterpartyAccount counterpartyAccount();
+
+    @Nullable
+    String entryReference();
+
+    @Nullable
+    String bankTransactionCode();
+
+    @Nullable
+    String internalTransactionId();
+
+    /**
+     * Returns the raw value of any field of the transaction, for objects and arrays as JSON text.
+     */
+    @Nullable
+    String field(@NonNull String name);
+
+    /**
+     * Decodes all fields and returns a {@link BookedTransaction} or a {@link PendingTransaction}.
+     */
+    @NonNull
+    Transaction toTransaction();
+}
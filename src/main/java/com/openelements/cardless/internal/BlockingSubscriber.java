@@ -0,0 +1,95 @@
+package com.openelements.cardless.internal;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Subscriber that buffers a bounded number of items and hands them out by blocking calls. Additional items are only
+ * requested once buffered ones have been taken.
+ *
+ * @param <T> type of the items
+ */
+final class BlockingSubscriber<T> implements Flow.Subscriber<T>, PullPublisher.Source<T> {
+
+    private static final Object COMPLETE = new Object();
+
+    private record Failure(Throwable throwable) {
+    }
+
+    private final int bufferSize;
+
+    private final BlockingQueue<Object> queue;
+
+    private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+
+    private boolean finished;
+
+    BlockingSubscriber(final int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.queue = new ArrayBlockingQueue<>(bufferSize + 1);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.@NonNull Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription must not be null");
+        if (!this.subscription.complete(subscription)) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(bufferSize);
+    }
+
+    @Override
+    public void onNext(@NonNull final T item) {
+        queue.add(item);
+    }
+
+    @Override
+    public void onError(@NonNull final Throwable throwable) {
+        queue.add(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(COMPLETE);
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() throws Exception {
+        if (finished) {
+            return null;
+        }
+        final Object item = queue.take();
+        if (item == COMPLETE) {
+            finished = true;
+            return null;
+        }
+        if (item instanceof Failure failure) {
+            finished = true;
+            if (failure.throwable() instanceof Exception exception) {
+                throw exception;
+            }
+            throw new IllegalStateException(failure.throwable());
+        }
+        subscription.join().request(1);
+        return (T) item;
+    }
+
+    @Override
+    public void close() {
+        if (!finished) {
+            finished = true;
+            subscription.thenAccept(Flow.Subscription::cancel);
+        }
+    }
+}
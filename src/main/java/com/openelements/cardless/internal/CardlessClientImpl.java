@@ -6,6 +6,8 @@ import com.google.gson.JsonParser;
 import com.openelements.cardless.ApiCallException;
 import com.openelements.cardless.CardlessClient;
 import com.openelements.cardless.CardlessException;
+import com.openelements.cardless.WarmUpConfig;
+import com.openelements.cardless.WarmUpReport;
 import com.openelements.cardless.data.AccessAndRefreshToken;
 import com.openelements.cardless.data.AccessToken;
 import com.openelements.cardless.data.Account;
@@ -14,17 +16,36 @@ import com.openelements.cardless.data.ErrorMessage;
 import com.openelements.cardless.data.Institution;
 import com.openelements.cardless.data.Requisition;
 import com.openelements.cardless.data.RequisitionsPage;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
 import com.openelements.cardless.data.Transactions;
+import com.openelements.cardless.transport.CardlessTransport;
+import com.openelements.cardless.transport.HttpClientTransport;
+import com.openelements.cardless.transport.StreamingTransportResponse;
+import com.openelements.cardless.transport.TransportRequest;
+import com.openelements.cardless.transport.TransportResponse;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,19 +53,47 @@ public class CardlessClientImpl implements CardlessClient {
 
     private final static Logger log = LoggerFactory.getLogger(CardlessClientImpl.class);
 
-    private final HttpClient httpClient;
+    private static final String API_URL = "https://bankaccountdata.gocardless.com/api/v2/";
+
+    private static final URI API_URI = URI.create(API_URL);
+
+    private final CardlessTransport transport;
 
     private AtomicReference<AccessAndRefreshToken> accessAndRefreshTokenRef = new AtomicReference<>();
 
+    private record CachedInstitutions(@NonNull List<Institution> institutions, @NonNull Instant fetched,
+                                      @NonNull Duration ttl) {
+
+        boolean isFresh() {
+            return fetched.plus(ttl).isAfter(Instant.now());
+        }
+    }
+
+    private final Map<String, CachedInstitutions> institutionsCache = new ConcurrentHashMap<>();
+
+    /**
+     * Result of the mapping warm-up. It is stored so that the JIT can not remove the warm-up as dead code.
+     */
+    private volatile long mappingChecksum;
+
+    private final AtomicReference<ScheduledFuture<?>> keepAliveRef = new AtomicReference<>();
+
+    @Nullable
+    private ScheduledExecutorService keepAliveScheduler;
+
     public CardlessClientImpl(@NonNull final String secretId, @NonNull final String secretKey)
             throws CardlessException {
+        this(secretId, secretKey, new HttpClientTransport());
+    }
+
+    public CardlessClientImpl(@NonNull final String secretId, @NonNull final String secretKey,
+            @NonNull final CardlessTransport transport) throws CardlessException {
         Objects.requireNonNull(secretId, "secretId must not be null");
         Objects.requireNonNull(secretKey, "secretKey must not be null");
+        this.transport = Objects.requireNonNull(transport, "transport must not be null");
         try {
-            httpClient = HttpClient.newBuilder().build();
             final JsonObject body = JsonBasedFactory.createReceiveAccessToken(secretId, secretKey);
-            final JsonElement response = handlePostRequest("https://bankaccountdata.gocardless.com/api/v2/token/new/",
-                    body);
+            final JsonElement response = handlePostRequest(API_URL + "token/new/", body);
             final AccessAndRefreshToken token = JsonBasedFactory.createAccessAndRefreshToken(response);
             accessAndRefreshTokenRef.set(token);
         } catch (Exception e) {
@@ -67,77 +116,44 @@ public class CardlessClientImpl implements CardlessClient {
     }
 
     @NonNull
-    private HttpRequest createGetRequest(@NonNull final String url) throws IOException, InterruptedException {
-        return createGetRequest(url, true);
+    private TransportRequest createGetRequest(@NonNull final String url) throws IOException, InterruptedException {
+        return createRequest("GET", url, null, true);
     }
 
     @NonNull
-    private HttpRequest createGetRequest(@NonNull final String url, final boolean checkAccessToken)
-            throws IOException, InterruptedException {
-        Objects.requireNonNull(url, "url must not be null");
-        if (checkAccessToken) {
-            checkAccessToken();
-        }
-        final AccessAndRefreshToken accessAndRefreshToken = accessAndRefreshTokenRef.get();
-        final HttpRequest.Builder builder = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .header("accept", "application/json");
-        if (accessAndRefreshToken != null) {
-            builder.header("Authorization", "Bearer " + accessAndRefreshTokenRef.get().access());
-        }
-        return builder.GET()
-                .build();
+    private TransportRequest createDeleteRequest(@NonNull final String url) throws IOException, InterruptedException {
+        return createRequest("DELETE", url, null, true);
     }
 
     @NonNull
-    private HttpRequest createDeleteRequest(@NonNull final String url) throws IOException, InterruptedException {
-        return createDeleteRequest(url, true);
+    private TransportRequest createPostRequest(@NonNull final String url, @NonNull JsonElement body,
+            boolean checkAccessToken) throws IOException, InterruptedException {
+        Objects.requireNonNull(body, "body must not be null");
+        return createRequest("POST", url, body, checkAccessToken);
     }
 
     @NonNull
-    private HttpRequest createDeleteRequest(@NonNull final String url, final boolean checkAccessToken)
+    private TransportRequest createRequest(@NonNull final String method, @NonNull final String url,
+            @Nullable final JsonElement body, final boolean checkAccessToken)
             throws IOException, InterruptedException {
         Objects.requireNonNull(url, "url must not be null");
         if (checkAccessToken) {
             checkAccessToken();
         }
         final AccessAndRefreshToken accessAndRefreshToken = accessAndRefreshTokenRef.get();
-        final HttpRequest.Builder builder = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .header("accept", "application/json");
-        if (accessAndRefreshToken != null) {
-            builder.header("Authorization", "Bearer " + accessAndRefreshTokenRef.get().access());
-        }
-        return builder.DELETE()
-                .build();
-    }
-
-    @NonNull
-    private HttpRequest createPostRequest(@NonNull final String url, @NonNull JsonElement body,
-            boolean checkAccessToken) throws IOException, InterruptedException {
-        Objects.requireNonNull(url, "url must not be null");
-        Objects.requireNonNull(body, "body must not be null");
-        if (checkAccessToken) {
-            checkAccessToken();
-        }
-        final AccessAndRefreshToken accessAndRefreshToken = accessAndRefreshTokenRef.get();
-        final HttpRequest.Builder builder = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .header("accept", "application/json");
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("accept", "application/json");
         if (accessAndRefreshToken != null) {
-            builder.header("Authorization", "Bearer " + accessAndRefreshTokenRef.get().access());
+            headers.put("Authorization", "Bearer " + accessAndRefreshToken.access());
         }
-        return builder.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
-                .build();
+        return new TransportRequest(method, URI.create(url), headers, body != null ? body.toString() : null);
     }
 
     @NonNull
     private JsonElement handleGetRequest(@NonNull final String url) throws IOException, InterruptedException {
-        final HttpRequest request = createGetRequest(url);
-        final HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
+        final TransportRequest request = createGetRequest(url);
+        final TransportResponse response = transport.send(request);
         if (response.statusCode() != 200) {
             try {
                 final ErrorMessage errorMessage = createFromJson(response.body());
@@ -157,8 +173,8 @@ public class CardlessClientImpl implements CardlessClient {
     @NonNull
     private JsonElement handlePostRequest(@NonNull final String url, @NonNull final JsonElement body)
             throws IOException, InterruptedException {
-        final HttpRequest request = createPostRequest(url, body, false);
-        final HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
+        final TransportRequest request = createPostRequest(url, body, false);
+        final TransportResponse response = transport.send(request);
         if (response.statusCode() != 200 && response.statusCode() != 201) {
             try {
                 final ErrorMessage errorMessage = createFromJson(response.body());
@@ -175,12 +191,30 @@ public class CardlessClientImpl implements CardlessClient {
         }
     }
 
+    @NonNull
+    private InputStream handleStreamingGetRequest(@NonNull final String url)
+            throws IOException, InterruptedException {
+        final TransportRequest request = createGetRequest(url);
+        final StreamingTransportResponse response = transport.sendStreaming(request);
+        if (response.statusCode() != 200) {
+            final String body;
+            try (response) {
+                body = new String(response.body().readAllBytes(), StandardCharsets.UTF_8);
+            }
+            try {
+                final ErrorMessage errorMessage = createFromJson(body);
+                throw new ApiCallException(errorMessage);
+            } catch (Exception e) {
+                throw new IOException("Error in HTTP call", e);
+            }
+        }
+        return response.body();
+    }
+
     @NonNull
     private AccessToken updateAccessToken() throws IOException, InterruptedException {
         final JsonObject body = JsonBasedFactory.createUpdateAccessTokenBody(accessAndRefreshTokenRef.get().refresh());
-        final JsonElement jsonElement = handlePostRequest(
-                "https://bankaccountdata.gocardless.com/api/v2/token/refresh/",
-                body);
+        final JsonElement jsonElement = handlePostRequest(API_URL + "token/refresh/", body);
         return JsonBasedFactory.createAccessToken(jsonElement);
     }
 
@@ -200,7 +234,7 @@ public class CardlessClientImpl implements CardlessClient {
         log.debug("Fetching requisitions with limit: {}, offset: {}", limit, offset);
         try {
             final JsonElement jsonElement = handleGetRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/requisitions/?limit=" + limit + "&offset=" + offset);
+                    API_URL + "requisitions/?limit=" + limit + "&offset=" + offset);
             log.debug("Received JSON: {}", jsonElement);
             return JsonBasedFactory.createRequisitionsPage(jsonElement);
         } catch (Exception e) {
@@ -211,10 +245,26 @@ public class CardlessClientImpl implements CardlessClient {
     @NonNull
     public List<Institution> getInstitutions(@NonNull final String country) throws CardlessException {
         Objects.requireNonNull(country, "country must not be null");
+        final CachedInstitutions cached = institutionsCache.get(country);
+        if (cached == null) {
+            return fetchInstitutions(country);
+        }
+        if (cached.isFresh()) {
+            log.debug("Returning cached institutions for country: {}", country);
+            return cached.institutions();
+        }
+        final List<Institution> institutions = fetchInstitutions(country);
+        institutionsCache.computeIfPresent(country,
+                (key, old) -> new CachedInstitutions(institutions, Instant.now(), old.ttl()));
+        return institutions;
+    }
+
+    @NonNull
+    private List<Institution> fetchInstitutions(@NonNull final String country) throws CardlessException {
         log.debug("Fetching institutions for country: {}", country);
         try {
             final JsonElement jsonElement = handleGetRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/institutions/?country=" + country);
+                    API_URL + "institutions/?country=" + country);
             log.debug("Received JSON: {}", jsonElement);
             return jsonElement.getAsJsonArray().asList().stream()
                     .map(JsonBasedFactory::createInstitution)
@@ -234,7 +284,7 @@ public class CardlessClientImpl implements CardlessClient {
         try {
             final JsonObject body = JsonBasedFactory.createRequisitionRequestBody(institutionId, redirect);
             final JsonElement jsonElement = handlePostRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/requisitions/",
+                    API_URL + "requisitions/",
                     body);
             log.debug("Received JSON: {}", jsonElement);
             return JsonBasedFactory.createRequisition(jsonElement);
@@ -248,9 +298,9 @@ public class CardlessClientImpl implements CardlessClient {
         Objects.requireNonNull(requisitionId, "requisitionId must not be null");
         log.debug("Deleting requisition with id: {}", requisitionId);
         try {
-            final HttpRequest request = createDeleteRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/requisitions/" + requisitionId + "/");
-            final HttpResponse<Void> response = httpClient.send(request, BodyHandlers.discarding());
+            final TransportRequest request = createDeleteRequest(
+                    API_URL + "requisitions/" + requisitionId + "/");
+            final TransportResponse response = transport.send(request);
             if (response.statusCode() != 200) {
                 throw new CardlessException("Error deleting requisition with id '" + requisitionId + "'");
             }
@@ -266,7 +316,7 @@ public class CardlessClientImpl implements CardlessClient {
         log.debug("Fetching transactions for account: {}", account);
         try {
             final JsonElement jsonElement = handleGetRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/accounts/" + account + "/transactions/");
+                    API_URL + "accounts/" + account + "/transactions/");
             log.debug("Received JSON: {}", jsonElement);
             return JsonBasedFactory.createTransactions(jsonElement);
         } catch (Exception e) {
@@ -274,13 +324,37 @@ public class CardlessClientImpl implements CardlessClient {
         }
     }
 
+    @NonNull
+    @Override
+    public List<TransactionView> getTransactionViews(@NonNull final String account) throws CardlessException {
+        Objects.requireNonNull(account, "account must not be null");
+        log.debug("Fetching transaction views for account: {}", account);
+        try {
+            final JsonElement jsonElement = handleGetRequest(
+                    API_URL + "accounts/" + account + "/transactions/");
+            return JsonBasedFactory.createTransactionViews(jsonElement);
+        } catch (Exception e) {
+            throw new CardlessException("Error fetching transactions for account '" + account + "'", e);
+        }
+    }
+
+    @Override
+    public Flow.@NonNull Publisher<Transaction> publishTransactions(@NonNull final String accountId) {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+        return new PullPublisher<>(() -> {
+            log.debug("Streaming transactions for account: {}", accountId);
+            return new TransactionStreamSource(handleStreamingGetRequest(
+                    API_URL + "accounts/" + accountId + "/transactions/"));
+        }, e -> new CardlessException("Error streaming transactions for account '" + accountId + "'", e));
+    }
+
     @NonNull
     public Account getAccount(@NonNull final String id) throws CardlessException {
         Objects.requireNonNull(id, "id must not be null");
         log.debug("Fetching account with id: {}", id);
         try {
             final JsonElement jsonElement = handleGetRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/accounts/" + id + "/");
+                    API_URL + "accounts/" + id + "/");
             log.debug("Received JSON: {}", jsonElement);
             return JsonBasedFactory.createAccount(jsonElement);
         } catch (Exception e) {
@@ -294,7 +368,7 @@ public class CardlessClientImpl implements CardlessClient {
         log.debug("Fetching balances for accountId: {}", accountId);
         try {
             final JsonElement jsonElement = handleGetRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/accounts/" + accountId + "/balances/");
+                    API_URL + "accounts/" + accountId + "/balances/");
             log.debug("Received JSON: {}", jsonElement);
             return JsonBasedFactory.createBalances(jsonElement);
         } catch (Exception e) {
@@ -308,11 +382,87 @@ public class CardlessClientImpl implements CardlessClient {
         log.debug("Fetching institution for institutionId: {}", institutionId);
         try {
             final JsonElement jsonElement = handleGetRequest(
-                    "https://bankaccountdata.gocardless.com/api/v2/institutions/" + institutionId + "/");
+                    API_URL + "institutions/" + institutionId + "/");
             log.debug("Received JSON: {}", jsonElement);
             return JsonBasedFactory.createInstitution(jsonElement);
         } catch (Exception e) {
             throw new CardlessException("Error fetching institution for institutionId '" + institutionId + "'", e);
         }
     }
+
+    @NonNull
+    @Override
+    public CompletableFuture<WarmUpReport> warmUp(@NonNull final WarmUpConfig config) {
+        Objects.requireNonNull(config, "config must not be null");
+        log.debug("Warming up for countries: {}", config.countries());
+        institutionsCache.keySet().retainAll(config.countries());
+        scheduleKeepAlive(config);
+        final Instant start = Instant.now();
+        final Map<String, Integer> institutionCounts = new ConcurrentHashMap<>();
+        final Map<String, String> failures = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        final List<CompletableFuture<Void>> steps = new ArrayList<>();
+        steps.add(CompletableFuture.runAsync(() -> {
+            try {
+                transport.warmUp(API_URI, config.connections());
+            } catch (Exception e) {
+                log.warn("Error opening connections", e);
+                failures.put("connections", String.valueOf(e.getMessage()));
+            }
+        }, executor));
+        config.countries().forEach(country -> steps.add(CompletableFuture.runAsync(() -> {
+            try {
+                final List<Institution> institutions = fetchInstitutions(country);
+                institutionsCache.put(country,
+                        new CachedInstitutions(institutions, Instant.now(), config.institutionsCacheTtl()));
+                institutionCounts.put(country, institutions.size());
+            } catch (Exception e) {
+                log.warn("Error fetching institutions for country '{}'", country, e);
+                failures.put("institutions:" + country, String.valueOf(e.getMessage()));
+            }
+        }, executor)));
+        steps.add(CompletableFuture.runAsync(() -> {
+            try {
+                mappingChecksum = WarmUpSamples.run(config.mappingIterations());
+            } catch (Exception e) {
+                log.warn("Error running mapping warm-up", e);
+                failures.put("mapping", String.valueOf(e.getMessage()));
+            }
+        }, executor));
+        executor.shutdown();
+        return CompletableFuture.allOf(steps.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            final WarmUpReport report = new WarmUpReport(Duration.between(start, Instant.now()), institutionCounts,
+                    failures.containsKey("mapping") ? 0 : config.mappingIterations(), failures);
+            log.debug("Warm-up finished: {}, mapping checksum: {}", report, mappingChecksum);
+            return report;
+        });
+    }
+
+    /**
+     * Replaces the periodic connection refresh of a previous warm-up. The refresh runs on a daemon thread, so it does
+     * not keep the JVM alive.
+     */
+    private synchronized void scheduleKeepAlive(@NonNull final WarmUpConfig config) {
+        final ScheduledFuture<?> previous = keepAliveRef.getAndSet(null);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (config.keepAliveInterval().isZero() || config.connections() == 0) {
+            return;
+        }
+        if (keepAliveScheduler == null) {
+            keepAliveScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("cardless-keep-alive").factory());
+        }
+        final long intervalMillis = config.keepAliveInterval().toMillis();
+        keepAliveRef.set(keepAliveScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                transport.warmUp(API_URI, config.connections());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.debug("Error refreshing connections", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS));
+    }
 }
@@ -0,0 +1,125 @@
+package com.openelements.cardless.internal;
+
+import com.openelements.cardless.data.Amount;
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.CounterpartyAccount;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
+import com.openelements.cardless.money.Money;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link TransactionView} of an already decoded {@link BookedTransaction} or
+ * {@link com.openelements.cardless.data.PendingTransaction}. Fields that are not part of the records are
+ * {@code null}.
+ */
+public final class DecodedTransactionView implements TransactionView {
+
+    private final Transaction transaction;
+
+    @Nullable
+    private final BookedTransaction booked;
+
+    public DecodedTransactionView(@NonNull final Transaction transaction) {
+        this.transaction = Objects.requireNonNull(transaction, "transaction must not be null");
+        this.booked = transaction instanceof BookedTransaction bookedTransaction ? bookedTransaction : null;
+    }
+
+    @Override
+    public boolean isBooked() {
+        return booked != null;
+    }
+
+    @Nullable
+    @Override
+    public String transactionId() {
+        return booked != null ? booked.transactionId() : null;
+    }
+
+    @Nullable
+    @Override
+    public Money transactionMoney() {
+        final Amount amount = transaction.transactionAmount();
+        if (amount == null || amount.amount() == null || amount.currency() == null) {
+            return null;
+        }
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public LocalDate bookingDate() {
+        return booked != null ? booked.bookingDate() : null;
+    }
+
+    @Nullable
+    @Override
+    public String counterpartyName() {
+        return booked != null ? booked.counterpartyName() : null;
+    }
+
+    @NonNull
+    @Override
+    public CounterpartyAccount counterpartyAccount() {
+        return booked != null && booked.counterpartyAccount() != null ? booked.counterpartyAccount()
+                : new CounterpartyAccount(null);
+    }
+
+    @Nullable
+    @Override
+    public String entryReference() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public String bankTransactionCode() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public String internalTransactionId() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public String field(@NonNull final String name) {
+        Objects.requireNonNull(name, "name must not be null");
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public Transaction toTransaction() {
+        return transaction;
+    }
+
+    @Override
+    public Amount transactionAmount() {
+        return transaction.transactionAmount();
+    }
+
+    @Override
+    public LocalDate valueDate() {
+        return transaction.valueDate();
+    }
+
+    @Override
+    public String remittanceInformationUnstructured() {
+        return transaction.remittanceInformationUnstructured();
+    }
+
+    @Override
+    public String additionalInformation() {
+        return transaction.additionalInformation();
+    }
+}
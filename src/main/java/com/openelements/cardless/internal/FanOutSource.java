@@ -0,0 +1,71 @@
+package com.openelements.cardless.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Source that concatenates the publishers created for a sequence of keys. Up to {@code concurrency} publishers are
+ * subscribed at the same time, each with a bounded buffer, so following publishers already fetch data while the
+ * current one is consumed. Items are emitted in the order of the keys.
+ *
+ * @param <K> type of the keys
+ * @param <T> type of the items
+ */
+public final class FanOutSource<K, T> implements PullPublisher.Source<T> {
+
+    private final Iterator<K> keys;
+
+    private final Function<K, Flow.Publisher<T>> publisherFactory;
+
+    private final int concurrency;
+
+    private final int bufferSize;
+
+    private final Deque<BlockingSubscriber<T>> active = new ArrayDeque<>();
+
+    public FanOutSource(@NonNull final Iterator<K> keys, @NonNull final Function<K, Flow.Publisher<T>> publisherFactory,
+            final int concurrency, final int bufferSize) {
+        this.keys = Objects.requireNonNull(keys, "keys must not be null");
+        this.publisherFactory = Objects.requireNonNull(publisherFactory, "publisherFactory must not be null");
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+        this.bufferSize = bufferSize;
+    }
+
+    @Nullable
+    @Override
+    public T next() throws Exception {
+        subscribeNext();
+        while (!active.isEmpty()) {
+            final T item = active.peekFirst().next();
+            if (item != null) {
+                return item;
+            }
+            active.pollFirst();
+            subscribeNext();
+        }
+        return null;
+    }
+
+    private void subscribeNext() {
+        while (active.size() < concurrency && keys.hasNext()) {
+            final BlockingSubscriber<T> subscriber = new BlockingSubscriber<>(bufferSize);
+            publisherFactory.apply(keys.next()).subscribe(subscriber);
+            active.addLast(subscriber);
+        }
+    }
+
+    @Override
+    public void close() {
+        active.forEach(BlockingSubscriber::close);
+        active.clear();
+    }
+}
@@ -13,7 +13,9 @@ import com.openelements.cardless.data.Institution;
 import com.openelements.cardless.data.PendingTransaction;
 import com.openelements.cardless.data.Requisition;
 import com.openelements.cardless.data.RequisitionsPage;
+import com.openelements.cardless.data.TransactionView;
 import com.openelements.cardless.data.Transactions;
+import com.openelements.cardless.money.Money;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.time.LocalDate;
@@ -132,7 +134,7 @@ public class JsonBasedFactory {
     }
 
     @Nullable
-    private static String getAsStringOrNull(@NonNull final JsonElement element) {
+    static String getAsStringOrNull(@Nullable final JsonElement element) {
         if (element == null || element.isJsonNull()) {
             return null;
         } else {
@@ -141,7 +143,7 @@ public class JsonBasedFactory {
     }
 
     @NonNull
-    private static Optional<String> getAsString(@NonNull final JsonElement element) {
+    private static Optional<String> getAsString(@Nullable final JsonElement element) {
         if (element == null || element.isJsonNull()) {
             return Optional.empty();
         } else {
@@ -150,16 +152,31 @@ public class JsonBasedFactory {
     }
 
     @NonNull
-    private static BookedTransaction createBookedTransaction(@NonNull final JsonElement json) {
+    public static BookedTransaction createBookedTransaction(@NonNull final JsonElement json) {
         Objects.requireNonNull(json, "json must not be null");
         final JsonObject jsonObject = json.getAsJsonObject();
         final String transactionId = jsonObject.get("transactionId").getAsString();
         final Amount transactionAmount = createAmount(jsonObject.get("transactionAmount"));
-        final LocalDate bookingDate = getAsString(jsonObject.get("bookingDate"))
-                .map(v -> LocalDate.parse(v)).orElse(null);
-        final LocalDate valueDate = getAsString(jsonObject.get("valueDate"))
-                .map(v -> LocalDate.parse(v)).orElse(null);
-        final String message = getAsString(jsonObject.get("remittanceInformationUnstructured"))
+        final LocalDate bookingDate = getAsLocalDate(jsonObject.get("bookingDate"));
+        final LocalDate valueDate = getAsLocalDate(jsonObject.get("valueDate"));
+        final String message = getRemittanceInformation(jsonObject);
+        final String counterpartyName = getCounterpartyName(jsonObject, transactionAmount);
+        final CounterpartyAccount counterpartyAccount = getCounterpartyAccount(jsonObject, transactionAmount);
+        final String additionalInformation = getAsStringOrNull(jsonObject.get("additionalInformation"));
+
+        return new BookedTransaction(transactionId, counterpartyName, counterpartyAccount, transactionAmount,
+                bookingDate,
+                valueDate, message, additionalInformation);
+    }
+
+    @Nullable
+    static LocalDate getAsLocalDate(@Nullable final JsonElement element) {
+        return getAsString(element).map(v -> LocalDate.parse(v)).orElse(null);
+    }
+
+    @Nullable
+    static String getRemittanceInformation(@NonNull final JsonObject jsonObject) {
+        return getAsString(jsonObject.get("remittanceInformationUnstructured"))
                 .or(() -> getAsString(jsonObject.get("remittanceInformationStructured")))
                 .or(() -> {
                     if (jsonObject.has("remittanceInformationUnstructuredArray")) {
@@ -171,39 +188,34 @@ public class JsonBasedFactory {
                     return Optional.empty();
                 })
                 .orElse(null);
+    }
 
-        final String counterpartyName;
-        final CounterpartyAccount counterpartyAccount;
-
+    @Nullable
+    static String getCounterpartyName(@NonNull final JsonObject jsonObject, @NonNull final Amount transactionAmount) {
         if (transactionAmount.amount().signum() > 0) {
-            counterpartyName = getAsStringOrNull(jsonObject.get("debtorName"));
-            if (jsonObject.has("debtorAccount")) {
-                counterpartyAccount = createCounterpartyAccount(jsonObject.get("debtorAccount"));
-            } else {
-                counterpartyAccount = new CounterpartyAccount(null);
-            }
+            return getAsStringOrNull(jsonObject.get("debtorName"));
         } else {
-            counterpartyName = getAsStringOrNull(jsonObject.get("creditorName"));
-            if (jsonObject.has("creditorAccount")) {
-                counterpartyAccount = createCounterpartyAccount(jsonObject.get("creditorAccount"));
-            } else {
-                counterpartyAccount = new CounterpartyAccount(null);
-            }
+            return getAsStringOrNull(jsonObject.get("creditorName"));
         }
-        final String additionalInformation = getAsStringOrNull(jsonObject.get("additionalInformation"));
+    }
 
-        return new BookedTransaction(transactionId, counterpartyName, counterpartyAccount, transactionAmount,
-                bookingDate,
-                valueDate, message, additionalInformation);
+    @NonNull
+    static CounterpartyAccount getCounterpartyAccount(@NonNull final JsonObject jsonObject,
+            @NonNull final Amount transactionAmount) {
+        final String accountProperty = transactionAmount.amount().signum() > 0 ? "debtorAccount" : "creditorAccount";
+        if (jsonObject.has(accountProperty)) {
+            return createCounterpartyAccount(jsonObject.get(accountProperty));
+        } else {
+            return new CounterpartyAccount(null);
+        }
     }
 
     @NonNull
-    private static PendingTransaction createPendingTransaction(@NonNull final JsonElement json) {
+    public static PendingTransaction createPendingTransaction(@NonNull final JsonElement json) {
         Objects.requireNonNull(json, "json must not be null");
         final JsonObject jsonObject = json.getAsJsonObject();
         final Amount transactionAmount = createAmount(jsonObject.get("transactionAmount"));
-        final LocalDate valueDate = getAsString(jsonObject.get("valueDate"))
-                .map(v -> LocalDate.parse(v)).orElse(null);
+        final LocalDate valueDate = getAsLocalDate(jsonObject.get("valueDate"));
         final String remittanceInformationUnstructured = getAsStringOrNull(
                 jsonObject.get("remittanceInformationUnstructured"));
         final String additionalInformation = getAsStringOrNull(jsonObject.get("additionalInformation"));
@@ -226,7 +238,7 @@ public class JsonBasedFactory {
     }
 
     @NonNull
-    private static Amount createAmount(@NonNull final JsonElement json) {
+    static Amount createAmount(@NonNull final JsonElement json) {
         Objects.requireNonNull(json, "json must not be null");
         final JsonObject jsonObject = json.getAsJsonObject();
         final String currency = jsonObject.get("currency").getAsString();
@@ -234,6 +246,18 @@ public class JsonBasedFactory {
         return new Amount(currency, amount);
     }
 
+    /**
+     * Creates the minor unit representation of an amount directly from its JSON text, {@code null} if the amount has
+     * an unusual scale and needs {@link #createAmount(JsonElement)}.
+     */
+    @Nullable
+    static Money createMoney(@NonNull final JsonElement json) {
+        Objects.requireNonNull(json, "json must not be null");
+        final JsonObject jsonObject = json.getAsJsonObject();
+        final String currency = jsonObject.get("currency").getAsString();
+        return Money.tryParse(currency, jsonObject.get("amount").getAsString()).orElse(null);
+    }
+
     @NonNull
     public static Transactions createTransactions(@NonNull final JsonElement jsonElement) {
         Objects.requireNonNull(jsonElement, "jsonElement must not be null");
@@ -250,6 +274,19 @@ public class JsonBasedFactory {
         return new Transactions(bookedList, pendingList);
     }
 
+    /**
+     * Creates views on the booked and then the pending transactions without decoding any of their fields.
+     */
+    @NonNull
+    public static List<TransactionView> createTransactionViews(@NonNull final JsonElement jsonElement) {
+        Objects.requireNonNull(jsonElement, "jsonElement must not be null");
+        final JsonObject transactions = jsonElement.getAsJsonObject().getAsJsonObject("transactions");
+        final List<TransactionView> views = new ArrayList<>();
+        transactions.getAsJsonArray("booked").forEach(json -> views.add(new LazyTransactionView(json, true)));
+        transactions.getAsJsonArray("pending").forEach(json -> views.add(new LazyTransactionView(json, false)));
+        return views;
+    }
+
     @NonNull
     public static Account createAccount(@NonNull final JsonElement jsonElement) {
         Objects.requireNonNull(jsonElement, "jsonElement must not be null");
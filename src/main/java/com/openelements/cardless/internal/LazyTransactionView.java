@@ -0,0 +1,191 @@
+package com.openelements.cardless.internal;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.openelements.cardless.data.Amount;
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.CounterpartyAccount;
+import com.openelements.cardless.data.PendingTransaction;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
+import com.openelements.cardless.money.Money;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link TransactionView} backed by the JSON object of the transaction. Every field is decoded by the same code as
+ * in {@link JsonBasedFactory} on first access and cached. Decoded values are immutable, so concurrent first accesses
+ * at most decode a field twice.
+ */
+public final class LazyTransactionView implements TransactionView {
+
+    private static final Object UNDECODED = new Object();
+
+    private final JsonObject jsonObject;
+
+    private final boolean booked;
+
+    private Object transactionAmount = UNDECODED;
+
+    private Object transactionMoney = UNDECODED;
+
+    private Object bookingDate = UNDECODED;
+
+    private Object valueDate = UNDECODED;
+
+    private Object remittanceInformation = UNDECODED;
+
+    private Object counterpartyName = UNDECODED;
+
+    private Object counterpartyAccount = UNDECODED;
+
+    public LazyTransactionView(@NonNull final JsonElement json, final boolean booked) {
+        Objects.requireNonNull(json, "json must not be null");
+        this.jsonObject = json.getAsJsonObject();
+        this.booked = booked;
+    }
+
+    @Override
+    public boolean isBooked() {
+        return booked;
+    }
+
+    @Nullable
+    @Override
+    public String transactionId() {
+        return JsonBasedFactory.getAsStringOrNull(jsonObject.get("transactionId"));
+    }
+
+    @NonNull
+    @Override
+    public Amount transactionAmount() {
+        Object value = transactionAmount;
+        if (value == UNDECODED) {
+            value = JsonBasedFactory.createAmount(jsonObject.get("transactionAmount"));
+            transactionAmount = value;
+        }
+        return (Amount) value;
+    }
+
+    @Nullable
+    @Override
+    public Money transactionMoney() {
+        Object value = transactionMoney;
+        if (value == UNDECODED) {
+            value = JsonBasedFactory.createMoney(jsonObject.get("transactionAmount"));
+            transactionMoney = value;
+        }
+        return (Money) value;
+    }
+
+    @Nullable
+    @Override
+    public LocalDate bookingDate() {
+        Object value = bookingDate;
+        if (value == UNDECODED) {
+            value = JsonBasedFactory.getAsLocalDate(jsonObject.get("bookingDate"));
+            bookingDate = value;
+        }
+        return (LocalDate) value;
+    }
+
+    @Nullable
+    @Override
+    public LocalDate valueDate() {
+        Object value = valueDate;
+        if (value == UNDECODED) {
+            value = JsonBasedFactory.getAsLocalDate(jsonObject.get("valueDate"));
+            valueDate = value;
+        }
+        return (LocalDate) value;
+    }
+
+    @Nullable
+    @Override
+    public String remittanceInformationUnstructured() {
+        Object value = remittanceInformation;
+        if (value == UNDECODED) {
+            value = booked
+                    ? JsonBasedFactory.getRemittanceInformation(jsonObject)
+                    : JsonBasedFactory.getAsStringOrNull(jsonObject.get("remittanceInformationUnstructured"));
+            remittanceInformation = value;
+        }
+        return (String) value;
+    }
+
+    @Nullable
+    @Override
+    public String additionalInformation() {
+        return JsonBasedFactory.getAsStringOrNull(jsonObject.get("additionalInformation"));
+    }
+
+    @Nullable
+    @Override
+    public String counterpartyName() {
+        Object value = counterpartyName;
+        if (value == UNDECODED) {
+            value = JsonBasedFactory.getCounterpartyName(jsonObject, transactionAmount());
+            counterpartyName = value;
+        }
+        return (String) value;
+    }
+
+    @NonNull
+    @Override
+    public CounterpartyAccount counterpartyAccount() {
+        Object value = counterpartyAccount;
+        if (value == UNDECODED) {
+            value = JsonBasedFactory.getCounterpartyAccount(jsonObject, transactionAmount());
+            counterpartyAccount = value;
+        }
+        return (CounterpartyAccount) value;
+    }
+
+    @Nullable
+    @Override
+    public String entryReference() {
+        return JsonBasedFactory.getAsStringOrNull(jsonObject.get("entryReference"));
+    }
+
+    @Nullable
+    @Override
+    public String bankTransactionCode() {
+        return JsonBasedFactory.getAsStringOrNull(jsonObject.get("bankTransactionCode"));
+    }
+
+    @Nullable
+    @Override
+    public String internalTransactionId() {
+        return JsonBasedFactory.getAsStringOrNull(jsonObject.get("internalTransactionId"));
+    }
+
+    @Nullable
+    @Override
+    public String field(@NonNull final String name) {
+        Objects.requireNonNull(name, "name must not be null");
+        final JsonElement element = jsonObject.get(name);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        return element.isJsonPrimitive() ? element.getAsString() : element.toString();
+    }
+
+    @NonNull
+    @Override
+    public Transaction toTransaction() {
+        if (booked) {
+            return new BookedTransaction(transactionId(), counterpartyName(), counterpartyAccount(),
+                    transactionAmount(), bookingDate(), valueDate(), remittanceInformationUnstructured(),
+                    additionalInformation());
+        }
+        return new PendingTransaction(transactionAmount(), valueDate(), remittanceInformationUnstructured(),
+                additionalInformation());
+    }
+
+    @Override
+    public String toString() {
+        return "LazyTransactionView" + jsonObject;
+    }
+}
@@ -0,0 +1,166 @@
+package com.openelements.cardless.internal;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Cold {@link Flow.Publisher} that pulls items from a blocking {@link Source}. Every subscriber gets its own source,
+ * and items are only pulled while the subscriber has outstanding demand. Pulling happens on a virtual thread, so a
+ * source can block on I/O without blocking the subscriber.
+ *
+ * @param <T> type of the items
+ */
+public final class PullPublisher<T> implements Flow.Publisher<T> {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Blocking source of items.
+     */
+    public interface Source<T> extends AutoCloseable {
+
+        /**
+         * Returns the next item or {@code null} if the source is exhausted.
+         */
+        @Nullable
+        T next() throws Exception;
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    @FunctionalInterface
+    public interface SourceFactory<T> {
+
+        @NonNull
+        Source<T> open() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ErrorMapper {
+
+        @NonNull
+        Throwable map(@NonNull Exception exception);
+    }
+
+    private final SourceFactory<T> sourceFactory;
+
+    private final ErrorMapper errorMapper;
+
+    public PullPublisher(@NonNull final SourceFactory<T> sourceFactory, @NonNull final ErrorMapper errorMapper) {
+        this.sourceFactory = Objects.requireNonNull(sourceFactory, "sourceFactory must not be null");
+        this.errorMapper = Objects.requireNonNull(errorMapper, "errorMapper must not be null");
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber must not be null");
+        final PullSubscription subscription = new PullSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class PullSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final AtomicInteger workInProgress = new AtomicInteger();
+
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private final AtomicReference<Throwable> invalidRequest = new AtomicReference<>();
+
+        private Source<T> source;
+
+        private boolean done;
+
+        private PullSubscription(final Flow.@NonNull Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest.compareAndSet(null, new IllegalArgumentException("Demand must be positive, was " + n));
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> {
+                    final long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            if (workInProgress.getAndIncrement() == 0) {
+                EXECUTOR.execute(this::drain);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true) && workInProgress.getAndIncrement() == 0) {
+                EXECUTOR.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            while (true) {
+                final Throwable error = invalidRequest.get();
+                if (error != null && !done) {
+                    finish();
+                    subscriber.onError(error);
+                    return;
+                }
+                while (!done && !cancelled.get() && demand.get() > 0) {
+                    final T item;
+                    try {
+                        if (source == null) {
+                            source = sourceFactory.open();
+                        }
+                        item = source.next();
+                    } catch (Exception e) {
+                        finish();
+                        subscriber.onError(errorMapper.map(e));
+                        return;
+                    }
+                    if (item == null) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(item);
+                }
+                if (cancelled.get()) {
+                    finish();
+                }
+                missed = workInProgress.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void finish() {
+            done = true;
+            cancelled.set(true);
+            if (source != null) {
+                try {
+                    source.close();
+                } catch (Exception ignored) {
+                    // nothing can be reported once the subscription is finished
+                }
+                source = null;
+            }
+        }
+    }
+}
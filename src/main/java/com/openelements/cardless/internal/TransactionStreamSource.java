@@ -0,0 +1,96 @@
+package com.openelements.cardless.internal;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.openelements.cardless.data.Transaction;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Reads the booked and pending transactions of a transactions response one by one from a stream. Only the
+ * transaction that is currently returned is held in memory.
+ */
+final class TransactionStreamSource implements PullPublisher.Source<Transaction> {
+
+    private enum Section {
+        BOOKED, PENDING
+    }
+
+    private final JsonReader reader;
+
+    private boolean started;
+
+    private boolean finished;
+
+    @Nullable
+    private Section section;
+
+    TransactionStreamSource(@NonNull final InputStream inputStream) {
+        Objects.requireNonNull(inputStream, "inputStream must not be null");
+        this.reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    @Override
+    public Transaction next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            started = true;
+            if (!seekTransactions()) {
+                finished = true;
+                return null;
+            }
+        }
+        while (true) {
+            if (section != null) {
+                if (reader.hasNext()) {
+                    final JsonElement json = JsonParser.parseReader(reader);
+                    return section == Section.BOOKED
+                            ? JsonBasedFactory.createBookedTransaction(json)
+                            : JsonBasedFactory.createPendingTransaction(json);
+                }
+                reader.endArray();
+                section = null;
+            }
+            if (!reader.hasNext()) {
+                finished = true;
+                return null;
+            }
+            final String name = reader.nextName();
+            if ("booked".equals(name)) {
+                section = Section.BOOKED;
+                reader.beginArray();
+            } else if ("pending".equals(name)) {
+                section = Section.PENDING;
+                reader.beginArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+
+    private boolean seekTransactions() throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("transactions".equals(reader.nextName())) {
+                reader.beginObject();
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
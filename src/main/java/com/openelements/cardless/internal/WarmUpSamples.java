@@ -0,0 +1,110 @@
+package com.openelements.cardless.internal;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.openelements.cardless.data.Balance;
+import com.openelements.cardless.data.Institution;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
+import com.openelements.cardless.data.Transactions;
+import com.openelements.cardless.money.Money;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Runs the JSON mapping code on embedded sample payloads, so that the JIT has compiled it before the first real
+ * response arrives. The payloads cover the fields and date formats of the real API responses.
+ */
+final class WarmUpSamples {
+
+    private static final String TRANSACTIONS = """
+            {"transactions": {"booked": [
+              {"transactionId": "2024050201", "bookingDate": "2024-05-02", "valueDate": "2024-05-02",
+               "transactionAmount": {"amount": "-15.00", "currency": "EUR"}, "creditorName": "Freshto Ltd",
+               "creditorAccount": {"iban": "GB33BUKB20201555555555"}, "entryReference": "E-4711",
+               "remittanceInformationUnstructured": "Order 4711 Freshto", "bankTransactionCode": "PMNT",
+               "internalTransactionId": "abc123"},
+              {"transactionId": "2024050202", "bookingDate": "2024-05-02", "valueDate": "2024-05-02",
+               "bookingDateTime": "2024-05-02T09:30:00Z", "transactionAmount": {"amount": "1250.50", "currency": "EUR"},
+               "debtorName": "Jennifer Houston", "debtorAccount": {"iban": "DE89370400440532013000"},
+               "remittanceInformationUnstructuredArray": ["Salary", "May 2024"]},
+              {"transactionId": "2024050301", "bookingDate": "2024-05-03", "valueDate": "2024-05-03",
+               "transactionAmount": {"amount": "-1200", "currency": "JPY"}, "creditorName": "Tokyo Books",
+               "remittanceInformationStructured": "RF18539007547034"}],
+             "pending": [
+              {"valueDate": "2024-05-03", "transactionAmount": {"amount": "-9.99", "currency": "EUR"},
+               "remittanceInformationUnstructured": "Streaming Service"}]}}
+            """;
+
+    private static final String BALANCES = """
+            {"balances": [
+              {"balanceAmount": {"amount": "1235.50", "currency": "EUR"}, "balanceType": "expected",
+               "referenceDate": "2024-05-02"},
+              {"balanceAmount": {"amount": "1245.49", "currency": "EUR"}, "balanceType": "interimAvailable",
+               "referenceDate": "2024-05-02"}]}
+            """;
+
+    private static final String ACCOUNT = """
+            {"id": "7e944232-bda9-40bc-b784-660c7ab5fe78", "created": "2024-05-01T10:15:30.000Z",
+             "last_accessed": "2024-05-02T08:00:00.000Z", "iban": "GL3343697694912188", "bban": null,
+             "status": "READY", "institution_id": "SANDBOXFINANCE_SFIN0000", "owner_name": "John Doe",
+             "name": "Main Account"}
+            """;
+
+    private static final String INSTITUTIONS = """
+            [{"id": "SANDBOXFINANCE_SFIN0000", "name": "Sandbox Finance", "bic": "SFIN0000",
+              "transaction_total_days": "90", "max_access_valid_for_days": "90",
+              "logo": "https://cdn.example.com/sandbox.png"},
+             {"id": "SPARKASSE_DORTMUND_DORTDE33XXX", "name": "Sparkasse Dortmund", "bic": "DORTDE33XXX",
+              "transaction_total_days": "540", "max_access_valid_for_days": "180",
+              "logo": "https://cdn.example.com/spk.png"}]
+            """;
+
+    private static final String REQUISITIONS = """
+            {"count": 1, "next": null, "previous": null, "results": [
+              {"id": "req-1", "created": "2024-05-01T10:00:00.000Z", "redirect": "https://example.com/",
+               "status": "LN", "institution_id": "SANDBOXFINANCE_SFIN0000", "agreement": "agr-1",
+               "reference": "ref-1", "accounts": ["7e944232-bda9-40bc-b784-660c7ab5fe78"],
+               "link": "https://ob.gocardless.com/psd2/start/req-1"}]}
+            """;
+
+    private static final byte[] TRANSACTIONS_BYTES = TRANSACTIONS.getBytes(StandardCharsets.UTF_8);
+
+    private WarmUpSamples() {
+    }
+
+    /**
+     * Maps all sample payloads the given number of times and returns a value derived from the results, so that the
+     * work can not be removed as dead code.
+     */
+    static long run(final int iterations) throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            final Transactions transactions = JsonBasedFactory.createTransactions(JsonParser.parseString(TRANSACTIONS));
+            checksum += transactions.bookedTransactions().size() + transactions.pendingTransactions().size();
+            for (TransactionView view : JsonBasedFactory.createTransactionViews(JsonParser.parseString(TRANSACTIONS))) {
+                final Money money = view.transactionMoney();
+                checksum += money != null ? money.minorUnits() : 0;
+                checksum += Objects.hashCode(view.bookingDate()) + Objects.hashCode(view.counterpartyName());
+            }
+            try (TransactionStreamSource source = new TransactionStreamSource(
+                    new ByteArrayInputStream(TRANSACTIONS_BYTES))) {
+                for (Transaction transaction = source.next(); transaction != null; transaction = source.next()) {
+                    checksum++;
+                }
+            }
+            for (Balance balance : JsonBasedFactory.createBalances(JsonParser.parseString(BALANCES))) {
+                checksum += Money.of(balance.balanceAmount()).minorUnits();
+            }
+            checksum += JsonBasedFactory.createAccount(JsonParser.parseString(ACCOUNT)).hashCode();
+            for (JsonElement element : JsonParser.parseString(INSTITUTIONS).getAsJsonArray()) {
+                final Institution institution = JsonBasedFactory.createInstitution(element);
+                checksum += institution.id().length();
+            }
+            checksum += JsonBasedFactory.createRequisitionsPage(JsonParser.parseString(REQUISITIONS)).count();
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,36 @@
+package com.openelements.cardless.money;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Number of minor unit digits of ISO 4217 currencies. Currencies that are not listed use 2 digits.
+ */
+public final class CurrencyScales {
+
+    public static final int DEFAULT_SCALE = 2;
+
+    private static final Map<String, Integer> SCALES = Map.ofEntries(
+            Map.entry("BIF", 0), Map.entry("CLP", 0), Map.entry("DJF", 0), Map.entry("GNF", 0),
+            Map.entry("ISK", 0), Map.entry("JPY", 0), Map.entry("KMF", 0), Map.entry("KRW", 0),
+            Map.entry("PYG", 0), Map.entry("RWF", 0), Map.entry("UGX", 0), Map.entry("UYI", 0),
+            Map.entry("VND", 0), Map.entry("VUV", 0), Map.entry("XAF", 0), Map.entry("XOF", 0),
+            Map.entry("XPF", 0),
+            Map.entry("BHD", 3), Map.entry("IQD", 3), Map.entry("JOD", 3), Map.entry("KWD", 3),
+            Map.entry("LYD", 3), Map.entry("OMR", 3), Map.entry("TND", 3),
+            Map.entry("CLF", 4), Map.entry("UYW", 4));
+
+    private CurrencyScales() {
+    }
+
+    public static int scaleOf(@NonNull final String currency) {
+        Objects.requireNonNull(currency, "currency must not be null");
+        final Integer scale = SCALES.get(currency);
+        if (scale != null) {
+            return scale;
+        }
+        return SCALES.getOrDefault(currency.toUpperCase(Locale.ROOT), DEFAULT_SCALE);
+    }
+}
@@ -0,0 +1,152 @@
+package com.openelements.cardless.money;
+
+import com.openelements.cardless.data.Amount;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.Optional;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Amount of money as a {@code long} number of minor units of its currency (cents for EUR). The scale is defined by
+ * {@link CurrencyScales}. Amounts with more significant fraction digits than their currency allows can not be
+ * represented and must be handled as {@link Amount}.
+ */
+public record Money(@NonNull String currency, long minorUnits) implements Comparable<Money> {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    public Money {
+        Objects.requireNonNull(currency, "currency must not be null");
+    }
+
+    public int scale() {
+        return CurrencyScales.scaleOf(currency);
+    }
+
+    /**
+     * Parses a plain decimal number like {@code -15.00} without creating a {@link BigDecimal}.
+     *
+     * @throws NumberFormatException if the value is not a plain decimal number
+     * @throws ArithmeticException   if the value has more significant fraction digits than the currency allows or
+     *                               does not fit into a {@code long}
+     */
+    @NonNull
+    public static Money parse(@NonNull final String currency, @NonNull final CharSequence value) {
+        Objects.requireNonNull(currency, "currency must not be null");
+        Objects.requireNonNull(value, "value must not be null");
+        final int scale = CurrencyScales.scaleOf(currency);
+        final int length = value.length();
+        int position = 0;
+        boolean negative = false;
+        if (position < length && (value.charAt(position) == '-' || value.charAt(position) == '+')) {
+            negative = value.charAt(position) == '-';
+            position++;
+        }
+        long units = 0;
+        int integerDigits = 0;
+        while (position < length && value.charAt(position) != '.') {
+            units = Math.addExact(Math.multiplyExact(units, 10), digit(value, position));
+            integerDigits++;
+            position++;
+        }
+        int fractionDigits = 0;
+        if (position < length) {
+            position++;
+            while (position < length) {
+                final int digit = digit(value, position);
+                if (fractionDigits < scale) {
+                    units = Math.addExact(Math.multiplyExact(units, 10), digit);
+                } else if (digit != 0) {
+                    throw new ArithmeticException("'" + value + "' has more than " + scale + " fraction digits");
+                }
+                fractionDigits++;
+                position++;
+            }
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            throw new NumberFormatException("Invalid amount: '" + value + "'");
+        }
+        if (fractionDigits < scale) {
+            units = Math.multiplyExact(units, POWERS_OF_TEN[scale - fractionDigits]);
+        }
+        return new Money(currency, negative ? -units : units);
+    }
+
+    /**
+     * Like {@link #parse(String, CharSequence)} but returns an empty optional for values that can not be represented.
+     */
+    @NonNull
+    public static Optional<Money> tryParse(@NonNull final String currency, @NonNull final CharSequence value) {
+        try {
+            return Optional.of(parse(currency, value));
+        } catch (NumberFormatException | ArithmeticException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Converts an {@link Amount} exactly.
+     *
+     * @throws ArithmeticException if the amount can not be represented exactly
+     */
+    @NonNull
+    public static Money of(@NonNull final Amount amount) {
+        Objects.requireNonNull(amount, "amount must not be null");
+        final long units = amount.amount().setScale(CurrencyScales.scaleOf(amount.currency()))
+                .unscaledValue()
+                .longValueExact();
+        return new Money(amount.currency(), units);
+    }
+
+    @NonNull
+    public Amount toAmount() {
+        return new Amount(currency, BigDecimal.valueOf(minorUnits, scale()));
+    }
+
+    @NonNull
+    public Money add(@NonNull final Money other) {
+        checkCurrency(other);
+        return new Money(currency, Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    @NonNull
+    public Money subtract(@NonNull final Money other) {
+        checkCurrency(other);
+        return new Money(currency, Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    @NonNull
+    public Money negate() {
+        return new Money(currency, Math.negateExact(minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(@NonNull final Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(minorUnits, scale()).toPlainString() + " " + currency;
+    }
+
+    private void checkCurrency(@NonNull final Money other) {
+        Objects.requireNonNull(other, "other must not be null");
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static int digit(@NonNull final CharSequence value, final int position) {
+        final char c = value.charAt(position);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Invalid amount: '" + value + "'");
+        }
+        return c - '0';
+    }
+}
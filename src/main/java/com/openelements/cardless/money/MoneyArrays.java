@@ -0,0 +1,87 @@
+package com.openelements.cardless.money;
+
+import java.util.Objects;
+
+/**
+ * Bulk operations on arrays of minor units of a single currency. The loops are kept free of branches and calls,
+ * so the JIT can vectorize them.
+ */
+public final class MoneyArrays {
+
+    private MoneyArrays() {
+    }
+
+    public static long sum(final long[] minorUnits) {
+        Objects.requireNonNull(minorUnits, "minorUnits must not be null");
+        return sum(minorUnits, 0, minorUnits.length);
+    }
+
+    /**
+     * Sums the values in the range {@code [from, to)}. Only the final sum must fit into a long, intermediate sums may
+     * exceed its range.
+     *
+     * @throws ArithmeticException if the sum overflows
+     */
+    public static long sum(final long[] minorUnits, final int from, final int to) {
+        Objects.requireNonNull(minorUnits, "minorUnits must not be null");
+        Objects.checkFromToIndex(from, to, minorUnits.length);
+        final int count = to - from;
+        if (count == 0) {
+            return 0;
+        }
+        long min = 0;
+        long max = 0;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, minorUnits[i]);
+            max = Math.max(max, minorUnits[i]);
+        }
+        final long bound = Long.MAX_VALUE / count;
+        if (max <= bound && min >= -bound) {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += minorUnits[i];
+            }
+            return sum;
+        }
+        // intermediate sums may leave the long range, so they are kept in 128 bits and checked once
+        long low = 0;
+        long high = 0;
+        for (int i = from; i < to; i++) {
+            final long value = minorUnits[i];
+            final long newLow = low + value;
+            high += (value >> 63) + (Long.compareUnsigned(newLow, low) < 0 ? 1 : 0);
+            low = newLow;
+        }
+        if (high != (low >> 63)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return low;
+    }
+
+    /**
+     * Compares both arrays element by element and writes -1, 0 or 1 to {@code result}.
+     */
+    public static void compare(final long[] a, final long[] b, final int[] result) {
+        Objects.requireNonNull(a, "a must not be null");
+        Objects.requireNonNull(b, "b must not be null");
+        Objects.requireNonNull(result, "result must not be null");
+        if (a.length != b.length || a.length != result.length) {
+            throw new IllegalArgumentException("Arrays must have the same length");
+        }
+        for (int i = 0; i < a.length; i++) {
+            result[i] = Long.compare(a[i], b[i]);
+        }
+    }
+
+    /**
+     * Returns the number of values that are greater than {@code threshold}.
+     */
+    public static int countGreaterThan(final long[] minorUnits, final long threshold) {
+        Objects.requireNonNull(minorUnits, "minorUnits must not be null");
+        int count = 0;
+        for (final long value : minorUnits) {
+            count += value > threshold ? 1 : 0;
+        }
+        return count;
+    }
+}
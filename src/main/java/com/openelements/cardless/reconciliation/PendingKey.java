@@ -0,0 +1,39 @@
+package com.openelements.cardless.reconciliation;
+
+import com.openelements.cardless.data.Amount;
+import com.openelements.cardless.data.Transaction;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Key under which a pending transaction is indexed. The amount is normalized so that {@code 15.0} and
+ * {@code 15.00} match, the remittance text is compared case-insensitive with collapsed whitespace.
+ */
+public record PendingKey(@Nullable String currency, @Nullable BigDecimal amount, @Nullable LocalDate valueDate,
+                         @NonNull String remittance) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @NonNull
+    public static PendingKey of(@NonNull final Transaction transaction) {
+        Objects.requireNonNull(transaction, "transaction must not be null");
+        final Amount amount = transaction.transactionAmount();
+        return new PendingKey(amount != null ? amount.currency() : null,
+                amount != null && amount.amount() != null ? amount.amount().stripTrailingZeros() : null,
+                transaction.valueDate(),
+                normalizeRemittance(transaction.remittanceInformationUnstructured()));
+    }
+
+    @NonNull
+    static String normalizeRemittance(@Nullable final String remittance) {
+        if (remittance == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(remittance.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,178 @@
+package com.openelements.cardless.reconciliation;
+
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.PendingTransaction;
+import com.openelements.cardless.data.Transactions;
+import com.openelements.cardless.reconciliation.ReconciliationEvent.DropReason;
+import com.openelements.cardless.reconciliation.ReconciliationEvent.PendingDropped;
+import com.openelements.cardless.reconciliation.ReconciliationEvent.PendingSettled;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Incrementally reconciles the pending transactions of one account with the booked transactions returned by later
+ * sync runs. Pending transactions are kept in a hash index by {@link PendingKey}, so every booked transaction is
+ * matched in constant time.
+ */
+public class PendingReconciler {
+
+    private record TrackedPending(PendingTransaction transaction, Instant firstSeen) {
+    }
+
+    private final Duration maxPendingAge;
+
+    private final Clock clock;
+
+    private final Map<PendingKey, Deque<TrackedPending>> index = new HashMap<>();
+
+    /**
+     * Number of expired pending transactions per key that are still returned by the API. They must not be tracked
+     * again as new pending transactions.
+     */
+    private final Map<PendingKey, Integer> expiredCounts = new HashMap<>();
+
+    /**
+     * Number of settled pending transactions per key that are still returned by the API as pending. Banks often list
+     * the booked and the pending entry side by side for a while, the pending entry must not be tracked again.
+     */
+    private final Map<PendingKey, Integer> settledCounts = new HashMap<>();
+
+    /**
+     * Identities of the booked transactions of the previous run, see {@link #bookedIdentity}.
+     */
+    private Set<String> knownBookedIds = new HashSet<>();
+
+    public PendingReconciler(@NonNull final Duration maxPendingAge) {
+        this(maxPendingAge, Clock.systemUTC());
+    }
+
+    public PendingReconciler(@NonNull final Duration maxPendingAge, @NonNull final Clock clock) {
+        this.maxPendingAge = Objects.requireNonNull(maxPendingAge, "maxPendingAge must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    /**
+     * Processes the result of a sync run and returns the events for all pending transactions that have been settled
+     * or dropped since the previous run.
+     */
+    @NonNull
+    public synchronized List<ReconciliationEvent> reconcile(@NonNull final Transactions transactions) {
+        Objects.requireNonNull(transactions, "transactions must not be null");
+        final Instant now = clock.instant();
+        final List<ReconciliationEvent> events = new ArrayList<>();
+
+        final Map<PendingKey, List<PendingTransaction>> currentPending = new HashMap<>();
+        transactions.pendingTransactions().forEach(pending -> currentPending
+                .computeIfAbsent(PendingKey.of(pending), key -> new ArrayList<>()).add(pending));
+
+        expiredCounts.entrySet().removeIf(entry -> {
+            final int stillPending = currentPending.getOrDefault(entry.getKey(), List.of()).size();
+            entry.setValue(Math.min(entry.getValue(), stillPending));
+            return entry.getValue() == 0;
+        });
+        clampSettledCounts(currentPending);
+
+        // new pending transactions are tracked before bookings are matched, so a pending transaction and its booking
+        // that are first returned by the same run are paired
+        currentPending.forEach((key, pendingList) -> {
+            final Deque<TrackedPending> tracked = index.computeIfAbsent(key, k -> new ArrayDeque<>());
+            final int known = tracked.size() + expiredCounts.getOrDefault(key, 0)
+                    + settledCounts.getOrDefault(key, 0);
+            for (int i = known; i < pendingList.size(); i++) {
+                tracked.addLast(new TrackedPending(pendingList.get(i), now));
+            }
+            if (tracked.isEmpty()) {
+                index.remove(key);
+            }
+        });
+
+        final Set<String> bookedIds = new HashSet<>();
+        final Map<String, Integer> idlessOccurrences = new HashMap<>();
+        for (final BookedTransaction booked : transactions.bookedTransactions()) {
+            final PendingKey key = PendingKey.of(booked);
+            final String identity = bookedIdentity(booked, key, idlessOccurrences);
+            bookedIds.add(identity);
+            if (knownBookedIds.contains(identity)) {
+                continue;
+            }
+            final Deque<TrackedPending> candidates = index.get(key);
+            if (candidates != null) {
+                events.add(new PendingSettled(candidates.pollFirst().transaction(), booked));
+                settledCounts.merge(key, 1, Integer::sum);
+                if (candidates.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+        knownBookedIds = bookedIds;
+        clampSettledCounts(currentPending);
+
+        final Iterator<Map.Entry<PendingKey, Deque<TrackedPending>>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<PendingKey, Deque<TrackedPending>> entry = iterator.next();
+            final Deque<TrackedPending> tracked = entry.getValue();
+            final int stillPending = currentPending.getOrDefault(entry.getKey(), List.of()).size()
+                    - expiredCounts.getOrDefault(entry.getKey(), 0) - settledCounts.getOrDefault(entry.getKey(), 0);
+            while (tracked.size() > Math.max(0, stillPending)) {
+                events.add(new PendingDropped(tracked.pollLast().transaction(), DropReason.DISAPPEARED));
+            }
+            tracked.removeIf(item -> {
+                if (Duration.between(item.firstSeen(), now).compareTo(maxPendingAge) > 0) {
+                    events.add(new PendingDropped(item.transaction(), DropReason.EXPIRED));
+                    expiredCounts.merge(entry.getKey(), 1, Integer::sum);
+                    return true;
+                }
+                return false;
+            });
+            if (tracked.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Limits the settled counts to the pending transactions that are still returned and not expired.
+     */
+    private void clampSettledCounts(@NonNull final Map<PendingKey, List<PendingTransaction>> currentPending) {
+        settledCounts.entrySet().removeIf(entry -> {
+            final int stillPending = currentPending.getOrDefault(entry.getKey(), List.of()).size()
+                    - expiredCounts.getOrDefault(entry.getKey(), 0);
+            entry.setValue(Math.min(entry.getValue(), stillPending));
+            return entry.getValue() <= 0;
+        });
+    }
+
+    /**
+     * Returns the identity of a booked transaction. The transaction id is optional in PSD2, booked transactions
+     * without one are identified by their key, booking date and position among equal transactions of the same run.
+     */
+    @NonNull
+    private static String bookedIdentity(@NonNull final BookedTransaction booked, @NonNull final PendingKey key,
+            @NonNull final Map<String, Integer> idlessOccurrences) {
+        if (booked.transactionId() != null) {
+            return "id:" + booked.transactionId();
+        }
+        final String base = "key:" + key + "|" + booked.bookingDate();
+        return base + "#" + idlessOccurrences.merge(base, 1, Integer::sum);
+    }
+
+    /**
+     * Returns the number of pending transactions that are currently tracked.
+     */
+    public synchronized int getPendingCount() {
+        return index.values().stream().mapToInt(Deque::size).sum();
+    }
+}
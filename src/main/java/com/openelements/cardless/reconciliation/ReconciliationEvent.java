@@ -0,0 +1,36 @@
+package com.openelements.cardless.reconciliation;
+
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.PendingTransaction;
+import org.jspecify.annotations.NonNull;
+
+public sealed interface ReconciliationEvent {
+
+    @NonNull
+    PendingTransaction pendingTransaction();
+
+    /**
+     * A pending transaction has been booked.
+     */
+    record PendingSettled(@NonNull PendingTransaction pendingTransaction,
+                          @NonNull BookedTransaction bookedTransaction) implements ReconciliationEvent {
+    }
+
+    /**
+     * A pending transaction has been removed without a matching booked transaction.
+     */
+    record PendingDropped(@NonNull PendingTransaction pendingTransaction,
+                          @NonNull DropReason reason) implements ReconciliationEvent {
+    }
+
+    enum DropReason {
+        /**
+         * The pending transaction is no longer returned by the API and no booked transaction matched it.
+         */
+        DISAPPEARED,
+        /**
+         * The pending transaction has been pending for longer than the configured maximum age.
+         */
+        EXPIRED
+    }
+}
@@ -0,0 +1,188 @@
+package com.openelements.cardless.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Count based circuit breaker. Outcomes of the most recent calls are kept in a ring buffer; the circuit opens when the
+ * failure or slow call rate in that buffer exceeds the configured thresholds.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Permission for a single call. It belongs to the state generation in which it was granted; outcomes of calls
+     * whose generation has ended by a state transition are ignored.
+     */
+    public record Permission(long generation) {
+    }
+
+    private final CircuitBreakerConfig config;
+
+    private final Clock clock;
+
+    private final boolean[] failures;
+
+    private final boolean[] slowCalls;
+
+    private int position;
+
+    private int recordedCalls;
+
+    private int failureCount;
+
+    private int slowCallCount;
+
+    private State state = State.CLOSED;
+
+    private Instant openUntil = Instant.MIN;
+
+    private int trialCallsInFlight;
+
+    private int successfulTrialCalls;
+
+    private long generation;
+
+    public CircuitBreaker(@NonNull final CircuitBreakerConfig config) {
+        this(config, Clock.systemUTC());
+    }
+
+    public CircuitBreaker(@NonNull final CircuitBreakerConfig config, @NonNull final Clock clock) {
+        this.config = Objects.requireNonNull(config, "config must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.failures = new boolean[config.windowSize()];
+        this.slowCalls = new boolean[config.windowSize()];
+    }
+
+    /**
+     * Returns a permission if a call may be executed, {@code null} otherwise. Every permitted call must be followed by
+     * a call to {@link #onSuccess(Permission, Duration)} or {@link #onFailure(Permission, Duration)}.
+     */
+    @Nullable
+    public synchronized Permission tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openUntil)) {
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+            trialCallsInFlight = 0;
+            successfulTrialCalls = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialCallsInFlight + successfulTrialCalls >= config.halfOpenTrialCalls()) {
+                return null;
+            }
+            trialCallsInFlight++;
+        }
+        return new Permission(generation);
+    }
+
+    public synchronized void onSuccess(@NonNull final Permission permission, @NonNull final Duration duration) {
+        Objects.requireNonNull(permission, "permission must not be null");
+        Objects.requireNonNull(duration, "duration must not be null");
+        if (permission.generation() != generation) {
+            return;
+        }
+        final boolean slow = duration.compareTo(config.slowCallThreshold()) >= 0;
+        if (state == State.HALF_OPEN) {
+            trialCallsInFlight--;
+            if (slow) {
+                open();
+            } else if (++successfulTrialCalls >= config.halfOpenTrialCalls()) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false, slow);
+        }
+    }
+
+    public synchronized void onFailure(@NonNull final Permission permission, @NonNull final Duration duration) {
+        Objects.requireNonNull(permission, "permission must not be null");
+        Objects.requireNonNull(duration, "duration must not be null");
+        if (permission.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            trialCallsInFlight--;
+            open();
+        } else if (state == State.CLOSED) {
+            record(true, duration.compareTo(config.slowCallThreshold()) >= 0);
+        }
+    }
+
+    /**
+     * Releases a permission without recording an outcome, for calls that were cancelled before they completed.
+     */
+    public synchronized void release(@NonNull final Permission permission) {
+        Objects.requireNonNull(permission, "permission must not be null");
+        if (permission.generation() == generation && state == State.HALF_OPEN) {
+            trialCallsInFlight--;
+        }
+    }
+
+    @NonNull
+    public synchronized State getState() {
+        if (state == State.OPEN && !clock.instant().isBefore(openUntil)) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Returns the time until trial calls are permitted again, {@link Duration#ZERO} if the circuit is not open.
+     */
+    @NonNull
+    public synchronized Duration getRemainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        final Duration remaining = Duration.between(clock.instant(), openUntil);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private void record(final boolean failure, final boolean slow) {
+        if (recordedCalls == failures.length) {
+            failureCount -= failures[position] ? 1 : 0;
+            slowCallCount -= slowCalls[position] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failures[position] = failure;
+        slowCalls[position] = slow;
+        failureCount += failure ? 1 : 0;
+        slowCallCount += slow ? 1 : 0;
+        position = (position + 1) % failures.length;
+        if (recordedCalls >= config.minimumCalls()) {
+            final double failureRate = (double) failureCount / recordedCalls;
+            final double slowCallRate = (double) slowCallCount / recordedCalls;
+            if (failureRate >= config.failureRateThreshold() || slowCallRate >= config.slowCallRateThreshold()) {
+                open();
+            }
+        }
+    }
+
+    private void transitionTo(@NonNull final State newState) {
+        state = newState;
+        generation++;
+    }
+
+    private void open() {
+        transitionTo(State.OPEN);
+        openUntil = clock.instant().plus(config.openDuration());
+    }
+
+    private void close() {
+        transitionTo(State.CLOSED);
+        position = 0;
+        recordedCalls = 0;
+        failureCount = 0;
+        slowCallCount = 0;
+    }
+}
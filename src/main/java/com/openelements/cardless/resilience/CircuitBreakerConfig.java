@@ -0,0 +1,43 @@
+package com.openelements.cardless.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Configuration of a {@link CircuitBreaker}.
+ *
+ * @param failureRateThreshold  rate of failed calls in the window (0..1) that opens the circuit
+ * @param slowCallThreshold     duration after which a call is counted as slow
+ * @param slowCallRateThreshold rate of slow calls in the window (0..1) that opens the circuit
+ * @param windowSize            number of most recent calls that are evaluated
+ * @param minimumCalls          number of calls that must be recorded before the circuit can open
+ * @param openDuration          time the circuit stays open before trial calls are permitted
+ * @param halfOpenTrialCalls    number of successful trial calls that close the circuit again
+ */
+public record CircuitBreakerConfig(double failureRateThreshold, @NonNull Duration slowCallThreshold,
+                                   double slowCallRateThreshold, int windowSize, int minimumCalls,
+                                   @NonNull Duration openDuration, int halfOpenTrialCalls) {
+
+    public CircuitBreakerConfig {
+        Objects.requireNonNull(slowCallThreshold, "slowCallThreshold must not be null");
+        Objects.requireNonNull(openDuration, "openDuration must not be null");
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+        }
+        if (slowCallRateThreshold <= 0 || slowCallRateThreshold > 1) {
+            throw new IllegalArgumentException("slowCallRateThreshold must be in (0, 1]");
+        }
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("windowSize and minimumCalls must be positive and minimumCalls <= windowSize");
+        }
+        if (halfOpenTrialCalls < 1) {
+            throw new IllegalArgumentException("halfOpenTrialCalls must be positive");
+        }
+    }
+
+    @NonNull
+    public static CircuitBreakerConfig defaults() {
+        return new CircuitBreakerConfig(0.5, Duration.ofSeconds(10), 0.8, 20, 5, Duration.ofSeconds(60), 2);
+    }
+}
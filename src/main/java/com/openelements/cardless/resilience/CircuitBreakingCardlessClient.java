@@ -0,0 +1,256 @@
+package com.openelements.cardless.resilience;
+
+import com.openelements.cardless.ApiCallException;
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.CardlessException;
+import com.openelements.cardless.InstitutionUnavailableException;
+import com.openelements.cardless.WarmUpConfig;
+import com.openelements.cardless.WarmUpReport;
+import com.openelements.cardless.data.Account;
+import com.openelements.cardless.data.Balance;
+import com.openelements.cardless.data.Institution;
+import com.openelements.cardless.data.Requisition;
+import com.openelements.cardless.data.RequisitionsPage;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
+import com.openelements.cardless.data.Transactions;
+import com.openelements.cardless.internal.FanOutSource;
+import com.openelements.cardless.internal.PullPublisher;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client that protects the account data calls ({@link #getTransactions(String)},
+ * {@link #getTransactionViews(String)}, {@link #publishTransactions(String)} and {@link #getBalances(String)})
+ * with one {@link CircuitBreaker} per institution. While the circuit of an institution is open, calls for its
+ * accounts fail fast with an {@link InstitutionUnavailableException}. The institution of an account is resolved once
+ * by {@link #getAccount(String)} and cached.
+ */
+public class CircuitBreakingCardlessClient implements CardlessClient {
+
+    private final static Logger log = LoggerFactory.getLogger(CircuitBreakingCardlessClient.class);
+
+    private final CardlessClient delegate;
+
+    private final CircuitBreakerConfig config;
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final Map<String, String> institutionByAccount = new ConcurrentHashMap<>();
+
+    public CircuitBreakingCardlessClient(@NonNull final CardlessClient delegate) {
+        this(delegate, CircuitBreakerConfig.defaults());
+    }
+
+    public CircuitBreakingCardlessClient(@NonNull final CardlessClient delegate,
+            @NonNull final CircuitBreakerConfig config) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.config = Objects.requireNonNull(config, "config must not be null");
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T execute() throws CardlessException;
+    }
+
+    public CircuitBreaker.@NonNull State getState(@NonNull final String institutionId) {
+        Objects.requireNonNull(institutionId, "institutionId must not be null");
+        final CircuitBreaker circuitBreaker = circuitBreakers.get(institutionId);
+        return circuitBreaker != null ? circuitBreaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    @NonNull
+    private String resolveInstitution(@NonNull final String accountId) throws CardlessException {
+        final String institutionId = institutionByAccount.get(accountId);
+        if (institutionId != null) {
+            return institutionId;
+        }
+        return getAccount(accountId).institutionId();
+    }
+
+    private record Guard(@NonNull CircuitBreaker circuitBreaker, CircuitBreaker.@NonNull Permission permission,
+                         long start) {
+
+        void onSuccess() {
+            circuitBreaker.onSuccess(permission, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        void onFailure(@NonNull final Throwable throwable) {
+            final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            if (isInstitutionFailure(throwable)) {
+                circuitBreaker.onFailure(permission, duration);
+            } else {
+                circuitBreaker.onSuccess(permission, duration);
+            }
+        }
+    }
+
+    @NonNull
+    private Guard acquire(@NonNull final String accountId) throws CardlessException {
+        final String institutionId = resolveInstitution(accountId);
+        final CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(institutionId,
+                id -> new CircuitBreaker(config));
+        final CircuitBreaker.Permission permission = circuitBreaker.tryAcquirePermission();
+        if (permission == null) {
+            log.debug("Circuit for institution {} is open, rejecting call for account {}", institutionId, accountId);
+            throw new InstitutionUnavailableException(institutionId, circuitBreaker.getRemainingOpenDuration());
+        }
+        return new Guard(circuitBreaker, permission, System.nanoTime());
+    }
+
+    @NonNull
+    private <T> T callForAccount(@NonNull final String accountId, @NonNull final Call<T> call)
+            throws CardlessException {
+        final Guard guard = acquire(accountId);
+        try {
+            final T result = call.execute();
+            guard.onSuccess();
+            return result;
+        } catch (CardlessException | RuntimeException e) {
+            guard.onFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the transactions of the delegate. The stream counts as one call: it succeeds once all transactions are
+     * read and fails with the first error; a cancelled stream releases its permission without an outcome.
+     */
+    private final class GuardedTransactionSource implements PullPublisher.Source<Transaction> {
+
+        private final Guard guard;
+
+        private final FanOutSource<String, Transaction> source;
+
+        private boolean finished;
+
+        private GuardedTransactionSource(@NonNull final String accountId) throws CardlessException {
+            this.guard = acquire(accountId);
+            this.source = new FanOutSource<>(List.of(accountId).iterator(), delegate::publishTransactions, 1, 16);
+        }
+
+        @Nullable
+        @Override
+        public Transaction next() throws Exception {
+            try {
+                final Transaction transaction = source.next();
+                if (transaction == null && !finished) {
+                    finished = true;
+                    guard.onSuccess();
+                }
+                return transaction;
+            } catch (Exception e) {
+                if (!finished) {
+                    finished = true;
+                    guard.onFailure(e);
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            source.close();
+            if (!finished) {
+                finished = true;
+                guard.circuitBreaker().release(guard.permission());
+            }
+        }
+    }
+
+    /**
+     * Client errors (4xx) returned by the API say nothing about the health of the bank and do not count as
+     * failures. Rate limiting (429) is handled by the caller and is ignored as well.
+     */
+    private static boolean isInstitutionFailure(@Nullable final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (cause instanceof ApiCallException apiCallException && apiCallException.getErrorMessage() != null) {
+                return apiCallException.getErrorMessage().status_code() >= 500;
+            }
+            cause = cause.getCause();
+        }
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public Transactions getTransactions(@NonNull final String account) throws CardlessException {
+        Objects.requireNonNull(account, "account must not be null");
+        return callForAccount(account, () -> delegate.getTransactions(account));
+    }
+
+    @NonNull
+    @Override
+    public List<TransactionView> getTransactionViews(@NonNull final String account) throws CardlessException {
+        Objects.requireNonNull(account, "account must not be null");
+        return callForAccount(account, () -> delegate.getTransactionViews(account));
+    }
+
+    @Override
+    public Flow.@NonNull Publisher<Transaction> publishTransactions(@NonNull final String accountId) {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+        return new PullPublisher<>(() -> new GuardedTransactionSource(accountId), e -> e);
+    }
+
+    @NonNull
+    @Override
+    public List<Balance> getBalances(@NonNull final String accountId) throws CardlessException {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+        return callForAccount(accountId, () -> delegate.getBalances(accountId));
+    }
+
+    @NonNull
+    @Override
+    public CompletableFuture<WarmUpReport> warmUp(@NonNull final WarmUpConfig config) {
+        return delegate.warmUp(config);
+    }
+
+    @NonNull
+    @Override
+    public Account getAccount(@NonNull final String id) throws CardlessException {
+        final Account account = delegate.getAccount(id);
+        institutionByAccount.put(account.id(), account.institutionId());
+        return account;
+    }
+
+    @NonNull
+    @Override
+    public RequisitionsPage getRequisitions(final int limit, final int offset) throws CardlessException {
+        return delegate.getRequisitions(limit, offset);
+    }
+
+    @NonNull
+    @Override
+    public List<Institution> getInstitutions(@NonNull final String country) throws CardlessException {
+        return delegate.getInstitutions(country);
+    }
+
+    @NonNull
+    @Override
+    public Institution getInstitution(@NonNull final String institutionId) throws CardlessException {
+        return delegate.getInstitution(institutionId);
+    }
+
+    @NonNull
+    @Override
+    public Requisition createRequisition(@NonNull final String institutionId, @NonNull final URI redirect)
+            throws CardlessException {
+        return delegate.createRequisition(institutionId, redirect);
+    }
+
+    @Override
+    public void deleteRequisition(@NonNull final String requisitionId) throws CardlessException {
+        delegate.deleteRequisition(requisitionId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.openelements.cardless.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Hedging configuration for cheap lookups (institutions and account details). If a lookup has not completed after
+ * {@code delay}, an additional identical request is sent and the first response wins.
+ *
+ * @param delay                  time to wait before an additional request is sent
+ * @param maxAdditionalRequests  maximum number of additional requests per attempt
+ */
+public record HedgingPolicy(@NonNull Duration delay, int maxAdditionalRequests) {
+
+    public HedgingPolicy {
+        Objects.requireNonNull(delay, "delay must not be null");
+        if (maxAdditionalRequests < 1) {
+            throw new IllegalArgumentException("maxAdditionalRequests must be positive");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.openelements.cardless.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Retry configuration for idempotent requests.
+ *
+ * @param maxAttempts          maximum number of attempts including the first one
+ * @param initialBackoff       backoff before the first retry
+ * @param maxBackoff           upper bound of the computed backoff
+ * @param multiplier           factor by which the backoff grows for each retry
+ * @param jitter               random fraction (0..1) that is subtracted from the computed backoff
+ * @param retryableStatusCodes HTTP status codes that are retried
+ * @param maxRetryAfter        longest {@code Retry-After} that is honored, if the server asks for a longer pause the
+ *                             response is returned to the caller
+ * @param rateLimitReserve     number of remaining rate limit calls that retries never consume
+ */
+public record RetryPolicy(int maxAttempts, @NonNull Duration initialBackoff, @NonNull Duration maxBackoff,
+                          double multiplier, double jitter, @NonNull Set<Integer> retryableStatusCodes,
+                          @NonNull Duration maxRetryAfter, int rateLimitReserve) {
+
+    public RetryPolicy {
+        Objects.requireNonNull(initialBackoff, "initialBackoff must not be null");
+        Objects.requireNonNull(maxBackoff, "maxBackoff must not be null");
+        Objects.requireNonNull(maxRetryAfter, "maxRetryAfter must not be null");
+        retryableStatusCodes = Set.copyOf(Objects.requireNonNull(retryableStatusCodes,
+                "retryableStatusCodes must not be null"));
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be >= 1");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be in [0, 1]");
+        }
+        if (rateLimitReserve < 0) {
+            throw new IllegalArgumentException("rateLimitReserve must not be negative");
+        }
+    }
+
+    @NonNull
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(4, Duration.ofMillis(500), Duration.ofSeconds(30), 2.0, 0.5,
+                Set.of(429, 500, 502, 503, 504), Duration.ofSeconds(60), 1);
+    }
+
+    /**
+     * Returns the backoff before the given retry (1 based), exponential growth with jitter.
+     */
+    @NonNull
+    public Duration backoff(final int retry, @NonNull final RandomGenerator random) {
+        Objects.requireNonNull(random, "random must not be null");
+        final double exponential = initialBackoff.toMillis() * Math.pow(multiplier, Math.max(0, retry - 1));
+        final double capped = Math.min(exponential, maxBackoff.toMillis());
+        return Duration.ofMillis((long) (capped * (1 - jitter * random.nextDouble())));
+    }
+}
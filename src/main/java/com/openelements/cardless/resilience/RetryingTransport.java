@@ -0,0 +1,248 @@
+package com.openelements.cardless.resilience;
+
+import com.openelements.cardless.transport.CardlessTransport;
+import com.openelements.cardless.transport.StreamingTransportResponse;
+import com.openelements.cardless.transport.TransportRequest;
+import com.openelements.cardless.transport.TransportResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport that retries idempotent (GET) requests based on a {@link RetryPolicy} and optionally hedges cheap lookups
+ * based on a {@link HedgingPolicy}. Requests with other methods are passed to the delegate unchanged.
+ */
+public class RetryingTransport implements CardlessTransport {
+
+    private final static Logger log = LoggerFactory.getLogger(RetryingTransport.class);
+
+    private static final List<String> RATE_LIMIT_REMAINING_HEADERS = List.of("HTTP_X_RATELIMIT_REMAINING",
+            "HTTP_X_RATELIMIT_ACCOUNT_SUCCESS_REMAINING");
+
+    private static final Pattern CHEAP_LOOKUP_PATH = Pattern.compile(
+            ".*/api/v2/(institutions/.*|accounts/[^/]+/)");
+
+    private static final ExecutorService HEDGING_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final CardlessTransport delegate;
+
+    private final RetryPolicy retryPolicy;
+
+    @Nullable
+    private final HedgingPolicy hedgingPolicy;
+
+
+    public RetryingTransport(@NonNull final CardlessTransport delegate, @NonNull final RetryPolicy retryPolicy) {
+        this(delegate, retryPolicy, null);
+    }
+
+    public RetryingTransport(@NonNull final CardlessTransport delegate, @NonNull final RetryPolicy retryPolicy,
+            @Nullable final HedgingPolicy hedgingPolicy) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.retryPolicy = Objects.requireNonNull(retryPolicy, "retryPolicy must not be null");
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    @Override
+    public void warmUp(@NonNull final URI uri, final int connections) throws IOException, InterruptedException {
+        delegate.warmUp(uri, connections);
+    }
+
+    @NonNull
+    @Override
+    public TransportResponse send(@NonNull final TransportRequest request) throws IOException, InterruptedException {
+        Objects.requireNonNull(request, "request must not be null");
+        if (!"GET".equals(request.method())) {
+            return delegate.send(request);
+        }
+        int attempt = 1;
+        while (true) {
+            final TransportResponse response;
+            try {
+                response = sendAttempt(request);
+            } catch (IOException e) {
+                if (attempt >= retryPolicy.maxAttempts()) {
+                    throw e;
+                }
+                final Duration backoff = retryPolicy.backoff(attempt, ThreadLocalRandom.current());
+                log.debug("Attempt {} for {} failed, retrying in {}", attempt, request.uri(), backoff, e);
+                Thread.sleep(backoff);
+                attempt++;
+                continue;
+            }
+            final Optional<Duration> delay = getRetryDelay(request, response, attempt);
+            if (delay.isEmpty()) {
+                return response;
+            }
+            Thread.sleep(delay.get());
+            attempt++;
+        }
+    }
+
+    /**
+     * Retries like {@link #send(TransportRequest)}. A response is only retried before its body has been handed to the
+     * caller; hedging is not used for streamed responses.
+     */
+    @NonNull
+    @Override
+    public StreamingTransportResponse sendStreaming(@NonNull final TransportRequest request)
+            throws IOException, InterruptedException {
+        Objects.requireNonNull(request, "request must not be null");
+        if (!"GET".equals(request.method())) {
+            return delegate.sendStreaming(request);
+        }
+        int attempt = 1;
+        while (true) {
+            final StreamingTransportResponse response;
+            try {
+                response = delegate.sendStreaming(request);
+            } catch (IOException e) {
+                if (attempt >= retryPolicy.maxAttempts()) {
+                    throw e;
+                }
+                final Duration backoff = retryPolicy.backoff(attempt, ThreadLocalRandom.current());
+                log.debug("Attempt {} for {} failed, retrying in {}", attempt, request.uri(), backoff, e);
+                Thread.sleep(backoff);
+                attempt++;
+                continue;
+            }
+            final Optional<Duration> delay = getRetryDelay(request,
+                    new TransportResponse(response.statusCode(), response.headers(), ""), attempt);
+            if (delay.isEmpty()) {
+                return response;
+            }
+            response.close();
+            Thread.sleep(delay.get());
+            attempt++;
+        }
+    }
+
+    /**
+     * Returns the time to wait before the next attempt or an empty optional if the response must be returned.
+     */
+    @NonNull
+    private Optional<Duration> getRetryDelay(@NonNull final TransportRequest request,
+            @NonNull final TransportResponse response, final int attempt) {
+        if (!retryPolicy.retryableStatusCodes().contains(response.statusCode())
+                || attempt >= retryPolicy.maxAttempts()) {
+            return Optional.empty();
+        }
+        final Optional<Integer> remaining = getRateLimitRemaining(response);
+        if (remaining.isPresent() && remaining.get() <= retryPolicy.rateLimitReserve()) {
+            log.debug("Not retrying {} since only {} calls remain in the rate limit", request.uri(),
+                    remaining.get());
+            return Optional.empty();
+        }
+        final Duration backoff;
+        final Optional<Duration> retryAfter = getRetryAfter(response);
+        if (retryAfter.isPresent()) {
+            if (retryAfter.get().compareTo(retryPolicy.maxRetryAfter()) > 0) {
+                log.debug("Not retrying {} since Retry-After {} exceeds the maximum", request.uri(),
+                        retryAfter.get());
+                return Optional.empty();
+            }
+            backoff = retryAfter.get();
+        } else {
+            backoff = retryPolicy.backoff(attempt, ThreadLocalRandom.current());
+        }
+        log.debug("Attempt {} for {} returned status {}, retrying in {}", attempt, request.uri(),
+                response.statusCode(), backoff);
+        return Optional.of(backoff);
+    }
+
+    @NonNull
+    private TransportResponse sendAttempt(@NonNull final TransportRequest request)
+            throws IOException, InterruptedException {
+        if (hedgingPolicy == null || !isCheapLookup(request.uri())) {
+            return delegate.send(request);
+        }
+        final ExecutorCompletionService<TransportResponse> completionService =
+                new ExecutorCompletionService<>(HEDGING_EXECUTOR);
+        final List<Future<TransportResponse>> futures = new ArrayList<>();
+        try {
+            futures.add(completionService.submit(() -> delegate.send(request)));
+            int pending = 1;
+            IOException lastException = null;
+            while (pending > 0) {
+                final boolean mayHedge = futures.size() <= hedgingPolicy.maxAdditionalRequests();
+                final Future<TransportResponse> completed = mayHedge
+                        ? completionService.poll(hedgingPolicy.delay().toNanos(), TimeUnit.NANOSECONDS)
+                        : completionService.take();
+                if (completed == null) {
+                    log.debug("Hedging request to {}", request.uri());
+                    futures.add(completionService.submit(() -> delegate.send(request)));
+                    pending++;
+                    continue;
+                }
+                pending--;
+                try {
+                    return completed.get();
+                } catch (ExecutionException e) {
+                    lastException = e.getCause() instanceof IOException ioException
+                            ? ioException : new IOException("Error in hedged HTTP call", e.getCause());
+                }
+            }
+            throw lastException;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static boolean isCheapLookup(@NonNull final URI uri) {
+        return CHEAP_LOOKUP_PATH.matcher(uri.getPath()).matches();
+    }
+
+    @NonNull
+    private static Optional<Integer> getRateLimitRemaining(@NonNull final TransportResponse response) {
+        return RATE_LIMIT_REMAINING_HEADERS.stream()
+                .map(response::firstHeader)
+                .flatMap(Optional::stream)
+                .map(RetryingTransport::parseIntOrNull)
+                .filter(Objects::nonNull)
+                .min(Integer::compare);
+    }
+
+    @NonNull
+    private static Optional<Duration> getRetryAfter(@NonNull final TransportResponse response) {
+        return response.firstHeader("Retry-After").map(String::trim).map(value -> {
+            final Integer seconds = parseIntOrNull(value);
+            if (seconds != null) {
+                return Duration.ofSeconds(Math.max(0, seconds));
+            }
+            try {
+                final ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                final Duration duration = Duration.between(ZonedDateTime.now(date.getZone()), date);
+                return duration.isNegative() ? Duration.ZERO : duration;
+            } catch (Exception e) {
+                return null;
+            }
+        });
+    }
+
+    @Nullable
+    private static Integer parseIntOrNull(@NonNull final String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
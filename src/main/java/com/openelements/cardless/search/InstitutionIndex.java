@@ -0,0 +1,292 @@
+package com.openelements.cardless.search;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.CardlessException;
+import com.openelements.cardless.data.Institution;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * In-memory search index over the institutions of any number of countries. Names are searched case and accent
+ * insensitive by token prefix with a typo tolerant fallback, ids and BICs are looked up by hash.
+ * <p>
+ * The index consists of one immutable segment per country. Updating a country only rebuilds its segment and reuses
+ * the tokens of all institutions that did not change, queries never block.
+ */
+public class InstitutionIndex {
+
+    private static final double EXACT_TOKEN_SCORE = 3;
+
+    private static final double PREFIX_TOKEN_SCORE = 2;
+
+    private static final double FUZZY_TOKEN_SCORE = 1;
+
+    private static final double NAME_PREFIX_BONUS = 2;
+
+    private static final double IDENTIFIER_SCORE = 10;
+
+    private record Entry(Institution institution, String normalizedName, List<String> tokens) {
+    }
+
+    private record Segment(Entry[] entries, String[] tokens, int[] owners, Map<String, Entry> entriesById,
+                           Map<String, List<Entry>> entriesByBic) {
+    }
+
+    private volatile Map<String, Segment> segments = Map.of();
+
+    /**
+     * Replaces the institutions of the given country.
+     */
+    public synchronized void update(@NonNull final String country, @NonNull final Collection<Institution> institutions) {
+        Objects.requireNonNull(country, "country must not be null");
+        Objects.requireNonNull(institutions, "institutions must not be null");
+        final String key = country.toLowerCase(Locale.ROOT);
+        final Segment previous = segments.get(key);
+        final Map<String, Segment> updated = new HashMap<>(segments);
+        updated.put(key, createSegment(institutions, previous));
+        segments = Map.copyOf(updated);
+    }
+
+    public synchronized void remove(@NonNull final String country) {
+        Objects.requireNonNull(country, "country must not be null");
+        final Map<String, Segment> updated = new HashMap<>(segments);
+        updated.remove(country.toLowerCase(Locale.ROOT));
+        segments = Map.copyOf(updated);
+    }
+
+    /**
+     * Fetches the institutions of the given countries and updates the index.
+     */
+    public void refresh(@NonNull final CardlessClient client, @NonNull final Collection<String> countries)
+            throws CardlessException {
+        Objects.requireNonNull(client, "client must not be null");
+        Objects.requireNonNull(countries, "countries must not be null");
+        for (final String country : countries) {
+            update(country, client.getInstitutions(country));
+        }
+    }
+
+    @NonNull
+    public Optional<Institution> findById(@NonNull final String id) {
+        Objects.requireNonNull(id, "id must not be null");
+        return segments.values().stream()
+                .map(segment -> segment.entriesById().get(id))
+                .filter(Objects::nonNull)
+                .map(Entry::institution)
+                .findFirst();
+    }
+
+    @NonNull
+    public List<Institution> findByBic(@NonNull final String bic) {
+        Objects.requireNonNull(bic, "bic must not be null");
+        final String key = bic.trim().toUpperCase(Locale.ROOT);
+        final Map<String, Institution> result = new LinkedHashMap<>();
+        segments.values().forEach(segment -> segment.entriesByBic().getOrDefault(key, List.of())
+                .forEach(entry -> result.putIfAbsent(entry.institution().id(), entry.institution())));
+        return List.copyOf(result.values());
+    }
+
+    /**
+     * Returns the number of distinct institutions in the index.
+     */
+    public int size() {
+        return (int) segments.values().stream()
+                .flatMap(segment -> segment.entriesById().keySet().stream())
+                .distinct()
+                .count();
+    }
+
+    /**
+     * Returns the best matches for the given query, at most {@code limit}. Every query token must be a prefix of a
+     * token of the institution name, so "spark dort" finds "Sparkasse Dortmund". If there are not enough results,
+     * tokens are matched with a tolerance of one typo (two for tokens of 8 or more characters). Exact id and BIC
+     * matches are ranked first.
+     */
+    @NonNull
+    public List<InstitutionMatch> search(@NonNull final String query, final int limit) {
+        Objects.requireNonNull(query, "query must not be null");
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        final Map<String, Segment> currentSegments = segments;
+        final Map<String, InstitutionMatch> matches = new HashMap<>();
+        final String identifier = query.trim();
+        for (final Segment segment : currentSegments.values()) {
+            final Entry byId = segment.entriesById().get(identifier);
+            if (byId != null) {
+                addMatch(matches, byId.institution(), IDENTIFIER_SCORE);
+            }
+            segment.entriesByBic().getOrDefault(identifier.toUpperCase(Locale.ROOT), List.of())
+                    .forEach(entry -> addMatch(matches, entry.institution(), IDENTIFIER_SCORE));
+        }
+        final List<String> queryTokens = TextNormalizer.tokenize(query);
+        if (!queryTokens.isEmpty()) {
+            final String normalizedQuery = String.join(" ", queryTokens);
+            for (final Segment segment : currentSegments.values()) {
+                searchSegment(segment, queryTokens, normalizedQuery, false, matches);
+            }
+            if (matches.size() < limit) {
+                for (final Segment segment : currentSegments.values()) {
+                    searchSegment(segment, queryTokens, normalizedQuery, true, matches);
+                }
+            }
+        }
+        return topK(matches.values(), limit);
+    }
+
+    private static void searchSegment(@NonNull final Segment segment, @NonNull final List<String> queryTokens,
+            @NonNull final String normalizedQuery, final boolean fuzzy,
+            @NonNull final Map<String, InstitutionMatch> matches) {
+        final int size = segment.entries().length;
+        final double[] scores = new double[size];
+        final int[] matchedTokens = new int[size];
+        final double[] tokenScores = new double[size];
+        for (int q = 0; q < queryTokens.size(); q++) {
+            final String queryToken = queryTokens.get(q);
+            Arrays.fill(tokenScores, 0);
+            final int start = lowerBound(segment.tokens(), queryToken);
+            for (int i = start; i < segment.tokens().length && segment.tokens()[i].startsWith(queryToken); i++) {
+                final double score = segment.tokens()[i].length() == queryToken.length()
+                        ? EXACT_TOKEN_SCORE : PREFIX_TOKEN_SCORE;
+                final int owner = segment.owners()[i];
+                tokenScores[owner] = Math.max(tokenScores[owner], score);
+            }
+            final int typos = TextNormalizer.allowedTypos(queryToken.length());
+            if (fuzzy && typos > 0) {
+                String previousToken = null;
+                boolean previousMatched = false;
+                for (int i = 0; i < segment.tokens().length; i++) {
+                    final String token = segment.tokens()[i];
+                    if (!token.equals(previousToken)) {
+                        previousToken = token;
+                        previousMatched = isFuzzyMatch(queryToken, token, typos);
+                    }
+                    final int owner = segment.owners()[i];
+                    if (previousMatched && tokenScores[owner] == 0) {
+                        tokenScores[owner] = FUZZY_TOKEN_SCORE;
+                    }
+                }
+            }
+            for (int owner = 0; owner < size; owner++) {
+                if (tokenScores[owner] > 0) {
+                    scores[owner] += tokenScores[owner];
+                    matchedTokens[owner]++;
+                }
+            }
+        }
+        for (int owner = 0; owner < size; owner++) {
+            if (matchedTokens[owner] == queryTokens.size()) {
+                final Entry entry = segment.entries()[owner];
+                double score = scores[owner];
+                if (entry.normalizedName().startsWith(normalizedQuery)) {
+                    score += NAME_PREFIX_BONUS;
+                }
+                score -= entry.normalizedName().length() * 0.001;
+                addMatch(matches, entry.institution(), score);
+            }
+        }
+    }
+
+    private static boolean isFuzzyMatch(@NonNull final String queryToken, @NonNull final String token,
+            final int typos) {
+        if (TextNormalizer.withinDistance(queryToken, token, typos)) {
+            return true;
+        }
+        return token.length() > queryToken.length()
+                && TextNormalizer.withinDistance(queryToken, token.substring(0, queryToken.length()), typos);
+    }
+
+    private static void addMatch(@NonNull final Map<String, InstitutionMatch> matches,
+            @NonNull final Institution institution, final double score) {
+        matches.merge(institution.id(), new InstitutionMatch(institution, score),
+                (existing, added) -> existing.score() >= added.score() ? existing : added);
+    }
+
+    @NonNull
+    private static List<InstitutionMatch> topK(@NonNull final Collection<InstitutionMatch> matches,
+            final int limit) {
+        final Comparator<InstitutionMatch> ranking = Comparator.comparingDouble(InstitutionMatch::score)
+                .thenComparing(match -> match.institution().name(), Comparator.reverseOrder());
+        final PriorityQueue<InstitutionMatch> queue = new PriorityQueue<>(limit + 1, ranking);
+        for (final InstitutionMatch match : matches) {
+            queue.add(match);
+            if (queue.size() > limit) {
+                queue.poll();
+            }
+        }
+        final List<InstitutionMatch> result = new ArrayList<>(queue);
+        result.sort(ranking.reversed());
+        return result;
+    }
+
+    private static int lowerBound(@NonNull final String[] tokens, @NonNull final String value) {
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (tokens[middle].compareTo(value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @NonNull
+    private static Segment createSegment(@NonNull final Collection<Institution> institutions,
+            final Segment previous) {
+        final Map<String, Entry> entriesById = new LinkedHashMap<>();
+        for (final Institution institution : institutions) {
+            final Entry previousEntry = previous != null ? previous.entriesById().get(institution.id()) : null;
+            if (previousEntry != null && previousEntry.institution().equals(institution)) {
+                entriesById.put(institution.id(), previousEntry);
+            } else {
+                final List<String> tokens = TextNormalizer.tokenize(institution.name());
+                entriesById.put(institution.id(), new Entry(institution, String.join(" ", tokens),
+                        List.copyOf(tokens)));
+            }
+        }
+        final Entry[] entries = entriesById.values().toArray(new Entry[0]);
+        final Map<String, List<Entry>> entriesByBic = new HashMap<>();
+        int tokenCount = 0;
+        for (final Entry entry : entries) {
+            tokenCount += entry.tokens().size();
+            if (entry.institution().bic() != null) {
+                entriesByBic.computeIfAbsent(entry.institution().bic().toUpperCase(Locale.ROOT),
+                        bic -> new ArrayList<>()).add(entry);
+            }
+        }
+        final Integer[] order = new Integer[tokenCount];
+        final String[] unsortedTokens = new String[tokenCount];
+        final int[] unsortedOwners = new int[tokenCount];
+        int position = 0;
+        for (int owner = 0; owner < entries.length; owner++) {
+            for (final String token : entries[owner].tokens()) {
+                unsortedTokens[position] = token;
+                unsortedOwners[position] = owner;
+                order[position] = position;
+                position++;
+            }
+        }
+        Arrays.sort(order, Comparator.comparing(index -> unsortedTokens[index]));
+        final String[] tokens = new String[tokenCount];
+        final int[] owners = new int[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            tokens[i] = unsortedTokens[order[i]];
+            owners[i] = unsortedOwners[order[i]];
+        }
+        return new Segment(entries, tokens, owners, Map.copyOf(entriesById), Map.copyOf(entriesByBic));
+    }
+}
@@ -0,0 +1,7 @@
+package com.openelements.cardless.search;
+
+import com.openelements.cardless.data.Institution;
+import org.jspecify.annotations.NonNull;
+
+public record InstitutionMatch(@NonNull Institution institution, double score) {
+}
@@ -0,0 +1,61 @@
+package com.openelements.cardless.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only list of ascending document ids. Ids are stored as variable length encoded deltas, so most entries
+ * need a single byte.
+ */
+final class PostingsList {
+
+    private byte[] data = new byte[4];
+
+    private int length;
+
+    private int lastDocumentId = -1;
+
+    private int size;
+
+    void add(final int documentId) {
+        if (documentId == lastDocumentId) {
+            return;
+        }
+        if (documentId < lastDocumentId) {
+            throw new IllegalArgumentException("document ids must be added in ascending order");
+        }
+        int delta = documentId - lastDocumentId;
+        while (length + 5 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+        lastDocumentId = documentId;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        final int[] result = new int[size];
+        int documentId = -1;
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            documentId += delta;
+            result[i] = documentId;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package com.openelements.cardless.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Case and accent insensitive normalization that is shared by the search indexes.
+ */
+final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower cases the text, removes diacritics and replaces every character that is neither a letter nor a digit by a
+     * single space.
+     */
+    @NonNull
+    static String normalize(@Nullable final String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        final String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        final StringBuilder builder = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            final char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !builder.isEmpty()) {
+                    builder.append(' ');
+                }
+                pendingSpace = false;
+                if (c == 'ß') {
+                    builder.append("ss");
+                } else {
+                    builder.append(Character.toLowerCase(c));
+                }
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return builder.toString();
+    }
+
+    @NonNull
+    static List<String> tokenize(@Nullable final String text) {
+        final String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return new ArrayList<>(List.of(normalized.split(" ")));
+    }
+
+    /**
+     * Returns {@code true} if the Levenshtein distance of both values is at most {@code maxDistance}.
+     */
+    static boolean withinDistance(@NonNull final CharSequence a, @NonNull final CharSequence b,
+            final int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return false;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return false;
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxDistance;
+    }
+
+    /**
+     * Number of typos that are tolerated for a query token of the given length.
+     */
+    static int allowedTypos(final int tokenLength) {
+        if (tokenLength < 4) {
+            return 0;
+        }
+        return tokenLength < 8 ? 1 : 2;
+    }
+}
@@ -0,0 +1,272 @@
+package com.openelements.cardless.search;
+
+import com.openelements.cardless.data.BookedTransaction;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Embeddable inverted index over the remittance information, additional information, counterparty name and
+ * counterparty IBAN of booked transactions.
+ * <p>
+ * Text is tokenized case and accent insensitive. Tokens that mix letters and digits (like {@code RF18INV4711}) are
+ * additionally split at every letter/digit boundary, so references can be found by their parts. IBANs are indexed
+ * by trigrams, so any fragment of at least three characters finds them. Transactions can be added at any time;
+ * adding a transaction with a known id replaces the indexed version. Transactions without an id are always added.
+ */
+public class TransactionIndex {
+
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]*)\"");
+
+    private static final Pattern LETTER_DIGIT_BOUNDARY = Pattern.compile("(?<=\\p{L})(?=\\d)|(?<=\\d)(?=\\p{L})");
+
+    private static final int IBAN_GRAM_LENGTH = 3;
+
+    private record QueryTerm(String value, boolean prefix) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<BookedTransaction> documents = new ArrayList<>();
+
+    private final BitSet deletedDocuments = new BitSet();
+
+    private final Map<String, Integer> documentIdByTransactionId = new HashMap<>();
+
+    private final TreeMap<String, PostingsList> terms = new TreeMap<>();
+
+    private final Map<String, PostingsList> ibanGrams = new HashMap<>();
+
+    public void addAll(@NonNull final Collection<BookedTransaction> transactions) {
+        Objects.requireNonNull(transactions, "transactions must not be null");
+        lock.writeLock().lock();
+        try {
+            transactions.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(@NonNull final BookedTransaction transaction) {
+        addAll(List.of(transaction));
+    }
+
+    /**
+     * Returns the number of indexed transactions.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size() - deletedDocuments.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the matching transactions, most recently booked first.
+     */
+    @NonNull
+    public List<BookedTransaction> search(@NonNull final TransactionQuery query) {
+        Objects.requireNonNull(query, "query must not be null");
+        final List<List<String>> phrases = new ArrayList<>();
+        final Matcher phraseMatcher = PHRASE.matcher(query.text());
+        while (phraseMatcher.find()) {
+            final List<String> phrase = TextNormalizer.tokenize(phraseMatcher.group(1));
+            if (!phrase.isEmpty()) {
+                phrases.add(phrase);
+            }
+        }
+        final Set<QueryTerm> queryTerms = new LinkedHashSet<>();
+        phrases.forEach(phrase -> phrase.forEach(token -> queryTerms.add(new QueryTerm(token, false))));
+        for (final String word : phraseMatcher.replaceAll(" ").trim().split("\\s+")) {
+            final boolean prefix = word.endsWith("*");
+            final List<String> tokens = TextNormalizer.tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                queryTerms.add(new QueryTerm(tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (final QueryTerm term : queryTerms) {
+                final int[] matches = findDocuments(term);
+                candidates = candidates == null ? matches : intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return List.of();
+                }
+            }
+            return Arrays.stream(candidates)
+                    .filter(documentId -> !deletedDocuments.get(documentId))
+                    .mapToObj(documents::get)
+                    .filter(transaction -> matchesFilters(transaction, query))
+                    .filter(transaction -> phrases.stream().allMatch(phrase -> containsPhrase(transaction, phrase)))
+                    .sorted(Comparator.comparing(BookedTransaction::bookingDate,
+                            Comparator.nullsLast(Comparator.reverseOrder())))
+                    .limit(query.limit())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(@NonNull final BookedTransaction transaction) {
+        Objects.requireNonNull(transaction, "transaction must not be null");
+        final String transactionId = transaction.transactionId();
+        final Integer existing = transactionId != null ? documentIdByTransactionId.get(transactionId) : null;
+        if (existing != null) {
+            if (documents.get(existing).equals(transaction)) {
+                return;
+            }
+            deletedDocuments.set(existing);
+        }
+        final int documentId = documents.size();
+        documents.add(transaction);
+        if (transactionId != null) {
+            documentIdByTransactionId.put(transactionId, documentId);
+        }
+        for (final String token : indexTokens(transaction)) {
+            terms.computeIfAbsent(token, t -> new PostingsList()).add(documentId);
+        }
+        final String iban = normalizeIban(transaction);
+        for (int i = 0; i + IBAN_GRAM_LENGTH <= iban.length(); i++) {
+            ibanGrams.computeIfAbsent(iban.substring(i, i + IBAN_GRAM_LENGTH), gram -> new PostingsList())
+                    .add(documentId);
+        }
+    }
+
+    private int[] findDocuments(@NonNull final QueryTerm term) {
+        final IntStream.Builder builder = IntStream.builder();
+        if (term.prefix()) {
+            terms.subMap(term.value(), true, term.value() + Character.MAX_VALUE, false).values()
+                    .forEach(postings -> Arrays.stream(postings.toArray()).forEach(builder::add));
+        } else {
+            final PostingsList postings = terms.get(term.value());
+            if (postings != null) {
+                Arrays.stream(postings.toArray()).forEach(builder::add);
+            }
+        }
+        final String fragment = term.value().toUpperCase(Locale.ROOT);
+        if (fragment.length() >= IBAN_GRAM_LENGTH) {
+            int[] ibanCandidates = null;
+            for (int i = 0; i + IBAN_GRAM_LENGTH <= fragment.length(); i++) {
+                final PostingsList postings = ibanGrams.get(fragment.substring(i, i + IBAN_GRAM_LENGTH));
+                final int[] gramDocuments = postings != null ? postings.toArray() : new int[0];
+                ibanCandidates = ibanCandidates == null ? gramDocuments : intersect(ibanCandidates, gramDocuments);
+            }
+            Arrays.stream(ibanCandidates)
+                    .filter(documentId -> normalizeIban(documents.get(documentId)).contains(fragment))
+                    .forEach(builder::add);
+        }
+        return builder.build().sorted().distinct().toArray();
+    }
+
+    private static int[] intersect(final int[] a, final int[] b) {
+        final int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static boolean matchesFilters(@NonNull final BookedTransaction transaction,
+            @NonNull final TransactionQuery query) {
+        final LocalDate bookingDate = transaction.bookingDate();
+        if (query.bookedFrom() != null && (bookingDate == null || bookingDate.isBefore(query.bookedFrom()))) {
+            return false;
+        }
+        if (query.bookedTo() != null && (bookingDate == null || bookingDate.isAfter(query.bookedTo()))) {
+            return false;
+        }
+        final BigDecimal amount = transaction.transactionAmount() != null
+                ? transaction.transactionAmount().amount() : null;
+        if (query.minAmount() != null && (amount == null || amount.compareTo(query.minAmount()) < 0)) {
+            return false;
+        }
+        return query.maxAmount() == null || (amount != null && amount.compareTo(query.maxAmount()) <= 0);
+    }
+
+    private static boolean containsPhrase(@NonNull final BookedTransaction transaction,
+            @NonNull final List<String> phrase) {
+        for (final String text : indexedTexts(transaction)) {
+            final List<String> tokens = TextNormalizer.tokenize(text);
+            if (Collections.indexOfSubList(tokens, phrase) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NonNull
+    private static Set<String> indexTokens(@NonNull final BookedTransaction transaction) {
+        final Set<String> tokens = new LinkedHashSet<>();
+        for (final String text : indexedTexts(transaction)) {
+            for (final String token : TextNormalizer.tokenize(text)) {
+                tokens.add(token);
+                final String[] parts = LETTER_DIGIT_BOUNDARY.split(token);
+                if (parts.length > 1) {
+                    tokens.addAll(Arrays.asList(parts));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    @NonNull
+    private static List<String> indexedTexts(@NonNull final BookedTransaction transaction) {
+        final List<String> texts = new ArrayList<>(3);
+        addIfPresent(texts, transaction.remittanceInformationUnstructured());
+        addIfPresent(texts, transaction.counterpartyName());
+        addIfPresent(texts, transaction.additionalInformation());
+        return texts;
+    }
+
+    private static void addIfPresent(@NonNull final List<String> texts, @Nullable final String text) {
+        if (text != null && !text.isBlank()) {
+            texts.add(text);
+        }
+    }
+
+    @NonNull
+    private static String normalizeIban(@NonNull final BookedTransaction transaction) {
+        if (transaction.counterpartyAccount() == null || transaction.counterpartyAccount().iban() == null) {
+            return "";
+        }
+        return transaction.counterpartyAccount().iban().replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+package com.openelements.cardless.search;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Query for a {@link TransactionIndex}. All terms of the text must match (AND). Terms ending with {@code *} match by
+ * prefix, text in double quotes must match as a phrase. Date and amount bounds are inclusive, {@code null} bounds are
+ * ignored.
+ */
+public record TransactionQuery(@NonNull String text, @Nullable LocalDate bookedFrom, @Nullable LocalDate bookedTo,
+                               @Nullable BigDecimal minAmount, @Nullable BigDecimal maxAmount, int limit) {
+
+    public TransactionQuery {
+        Objects.requireNonNull(text, "text must not be null");
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+    }
+
+    @NonNull
+    public static TransactionQuery of(@NonNull final String text) {
+        return new TransactionQuery(text, null, null, null, null, 100);
+    }
+
+    @NonNull
+    public TransactionQuery bookedBetween(@Nullable final LocalDate from, @Nullable final LocalDate to) {
+        return new TransactionQuery(text, from, to, minAmount, maxAmount, limit);
+    }
+
+    @NonNull
+    public TransactionQuery amountBetween(@Nullable final BigDecimal min, @Nullable final BigDecimal max) {
+        return new TransactionQuery(text, bookedFrom, bookedTo, min, max, limit);
+    }
+
+    @NonNull
+    public TransactionQuery withLimit(final int limit) {
+        return new TransactionQuery(text, bookedFrom, bookedTo, minAmount, maxAmount, limit);
+    }
+}
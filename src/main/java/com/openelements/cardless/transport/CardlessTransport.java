@@ -0,0 +1,36 @@
+package com.openelements.cardless.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Transport used by the client to execute HTTP exchanges against the GoCardless API. Implementations must be
+ * thread-safe.
+ */
+public interface CardlessTransport {
+
+    @NonNull
+    TransportResponse send(@NonNull TransportRequest request) throws IOException, InterruptedException;
+
+    /**
+     * Opens up to the given number of connections to the host of the given URI, so that later requests do not pay
+     * for the TLS handshake. The default implementation does nothing.
+     */
+    default void warmUp(@NonNull final URI uri, final int connections) throws IOException, InterruptedException {
+    }
+
+    /**
+     * Sends a request and returns a response whose body is read on demand. Transports that can stream should read
+     * from the network only as fast as the body is consumed. The default implementation buffers the full response.
+     */
+    @NonNull
+    default StreamingTransportResponse sendStreaming(@NonNull final TransportRequest request)
+            throws IOException, InterruptedException {
+        final TransportResponse response = send(request);
+        return new StreamingTransportResponse(response.statusCode(), response.headers(),
+                new ByteArrayInputStream(response.body().getBytes(StandardCharsets.UTF_8)));
+    }
+}
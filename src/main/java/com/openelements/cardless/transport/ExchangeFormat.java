@@ -0,0 +1,90 @@
+package com.openelements.cardless.transport;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Line based JSON format used for recorded exchanges. Every line of a recording contains one exchange.
+ */
+final class ExchangeFormat {
+
+    private static final String REDACTED = "<redacted>";
+
+    private ExchangeFormat() {
+    }
+
+    @NonNull
+    static String toLine(@NonNull final RecordedExchange exchange) {
+        Objects.requireNonNull(exchange, "exchange must not be null");
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("method", exchange.method());
+        jsonObject.addProperty("uri", exchange.uri().toString());
+        jsonObject.addProperty("status", exchange.statusCode());
+        final JsonObject headers = new JsonObject();
+        exchange.headers().forEach((name, values) -> {
+            final JsonArray array = new JsonArray();
+            values.forEach(array::add);
+            headers.add(name, array);
+        });
+        jsonObject.add("headers", headers);
+        jsonObject.addProperty("body", redactTokens(exchange.uri(), exchange.body()));
+        jsonObject.addProperty("durationMillis", exchange.durationMillis());
+        return jsonObject.toString();
+    }
+
+    @NonNull
+    static RecordedExchange fromLine(@NonNull final String line) {
+        Objects.requireNonNull(line, "line must not be null");
+        final JsonObject jsonObject = JsonParser.parseString(line).getAsJsonObject();
+        final String method = jsonObject.get("method").getAsString();
+        final URI uri = URI.create(jsonObject.get("uri").getAsString());
+        final int status = jsonObject.get("status").getAsInt();
+        final Map<String, List<String>> headers = new HashMap<>();
+        if (jsonObject.has("headers")) {
+            jsonObject.getAsJsonObject("headers").entrySet().forEach(entry -> {
+                final List<String> values = new ArrayList<>();
+                entry.getValue().getAsJsonArray().forEach(value -> values.add(value.getAsString()));
+                headers.put(entry.getKey(), values);
+            });
+        }
+        final String body = jsonObject.has("body") ? jsonObject.get("body").getAsString() : "";
+        final long durationMillis = jsonObject.has("durationMillis") ? jsonObject.get("durationMillis").getAsLong() : 0;
+        return new RecordedExchange(method, uri, status, headers, body, durationMillis);
+    }
+
+    /**
+     * Tokens returned by the token endpoints are replaced so that recordings can be shared. A replayed client never
+     * sends them to a real server anyway.
+     */
+    @NonNull
+    private static String redactTokens(@NonNull final URI uri, @NonNull final String body) {
+        if (!uri.getPath().contains("/token/")) {
+            return body;
+        }
+        try {
+            final JsonElement jsonElement = JsonParser.parseString(body);
+            if (jsonElement.isJsonObject()) {
+                final JsonObject jsonObject = jsonElement.getAsJsonObject();
+                if (jsonObject.has("access")) {
+                    jsonObject.addProperty("access", REDACTED);
+                }
+                if (jsonObject.has("refresh")) {
+                    jsonObject.addProperty("refresh", REDACTED);
+                }
+                return jsonObject.toString();
+            }
+            return body;
+        } catch (Exception e) {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.openelements.cardless.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Default transport that is based on {@link HttpClient}.
+ */
+public class HttpClientTransport implements CardlessTransport {
+
+    private final HttpClient httpClient;
+
+    public HttpClientTransport() {
+        this(HttpClient.newBuilder().build());
+    }
+
+    public HttpClientTransport(@NonNull final HttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must not be null");
+    }
+
+    @NonNull
+    @Override
+    public TransportResponse send(@NonNull final TransportRequest request) throws IOException, InterruptedException {
+        Objects.requireNonNull(request, "request must not be null");
+        final HttpResponse<String> response = httpClient.send(createHttpRequest(request), BodyHandlers.ofString());
+        return new TransportResponse(response.statusCode(), response.headers().map(), response.body());
+    }
+
+    /**
+     * The body is backed by {@link BodyHandlers#ofInputStream()}, which only requests further data from the connection
+     * when the stream is read.
+     */
+    @NonNull
+    @Override
+    public StreamingTransportResponse sendStreaming(@NonNull final TransportRequest request)
+            throws IOException, InterruptedException {
+        Objects.requireNonNull(request, "request must not be null");
+        final HttpResponse<InputStream> response = httpClient.send(createHttpRequest(request),
+                BodyHandlers.ofInputStream());
+        return new StreamingTransportResponse(response.statusCode(), response.headers().map(), response.body());
+    }
+
+    /**
+     * Sends concurrent {@code HEAD} requests, the status of the responses is ignored. The connections stay in the pool
+     * of the {@link HttpClient} for its keep-alive timeout, which is 30 seconds unless changed by the
+     * {@code jdk.httpclient.keepalive.timeout} system property. With HTTP/2 all requests share a single connection.
+     */
+    @Override
+    public void warmUp(@NonNull final URI uri, final int connections) throws IOException, InterruptedException {
+        Objects.requireNonNull(uri, "uri must not be null");
+        final HttpRequest request = HttpRequest.newBuilder(uri)
+                .method("HEAD", BodyPublishers.noBody())
+                .build();
+        final List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            responses.add(httpClient.sendAsync(request, BodyHandlers.discarding()));
+        }
+        try {
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get();
+        } catch (ExecutionException e) {
+            throw new IOException("Error opening connections to " + uri, e.getCause());
+        }
+    }
+
+    @NonNull
+    protected HttpRequest createHttpRequest(@NonNull final TransportRequest request) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder().uri(request.uri());
+        request.headers().forEach(builder::header);
+        if (request.body() != null) {
+            builder.method(request.method(), BodyPublishers.ofString(request.body()));
+        } else {
+            builder.method(request.method(), BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+}
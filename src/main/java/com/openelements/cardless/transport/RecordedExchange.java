@@ -0,0 +1,27 @@
+package com.openelements.cardless.transport;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A single request/response pair as stored by {@link RecordingTransport} and served by {@link ReplayTransport}.
+ * Request headers and bodies are never recorded since they contain credentials.
+ */
+public record RecordedExchange(@NonNull String method, @NonNull URI uri, int statusCode,
+                               @NonNull Map<String, List<String>> headers, @NonNull String body, long durationMillis) {
+
+    public RecordedExchange {
+        Objects.requireNonNull(method, "method must not be null");
+        Objects.requireNonNull(uri, "uri must not be null");
+        headers = headers == null ? Map.of() : Map.copyOf(headers);
+        body = body == null ? "" : body;
+    }
+
+    @NonNull
+    public TransportResponse toResponse() {
+        return new TransportResponse(statusCode, headers, body);
+    }
+}
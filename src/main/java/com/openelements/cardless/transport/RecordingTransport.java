@@ -0,0 +1,57 @@
+package com.openelements.cardless.transport;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport that forwards all requests to a delegate and appends every exchange to a recording file that can be
+ * served later by {@link ReplayTransport}.
+ */
+public class RecordingTransport implements CardlessTransport {
+
+    private final static Logger log = LoggerFactory.getLogger(RecordingTransport.class);
+
+    private final CardlessTransport delegate;
+
+    private final Path recordingFile;
+
+    public RecordingTransport(@NonNull final CardlessTransport delegate, @NonNull final Path recordingFile) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.recordingFile = Objects.requireNonNull(recordingFile, "recordingFile must not be null");
+    }
+
+    @Override
+    public void warmUp(@NonNull final URI uri, final int connections) throws IOException, InterruptedException {
+        delegate.warmUp(uri, connections);
+    }
+
+    @NonNull
+    @Override
+    public TransportResponse send(@NonNull final TransportRequest request) throws IOException, InterruptedException {
+        Objects.requireNonNull(request, "request must not be null");
+        final long start = System.nanoTime();
+        final TransportResponse response = delegate.send(request);
+        final long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        record(new RecordedExchange(request.method(), request.uri(), response.statusCode(), response.headers(),
+                response.body(), durationMillis));
+        return response;
+    }
+
+    private synchronized void record(@NonNull final RecordedExchange exchange) throws IOException {
+        log.debug("Recording {} {} -> {}", exchange.method(), exchange.uri(), exchange.statusCode());
+        try (BufferedWriter writer = Files.newBufferedWriter(recordingFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(ExchangeFormat.toLine(exchange));
+            writer.newLine();
+        }
+    }
+}
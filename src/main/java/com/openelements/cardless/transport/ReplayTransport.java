@@ -0,0 +1,108 @@
+package com.openelements.cardless.transport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Transport that serves recorded exchanges without any network access. Exchanges are matched by HTTP method and URI
+ * and are served in recorded order. Once all recorded exchanges for a request are consumed, the last one is served
+ * again, so a recording of a single session can drive benchmarks with any number of iterations.
+ */
+public class ReplayTransport implements CardlessTransport {
+
+    private final Map<String, List<RecordedExchange>> exchanges;
+
+    private final Map<String, AtomicInteger> positions;
+
+    @Nullable
+    private final Duration fixedLatency;
+
+    private final boolean recordedLatency;
+
+    public ReplayTransport(@NonNull final Collection<RecordedExchange> exchanges) {
+        this(exchanges, null, false);
+    }
+
+    private ReplayTransport(@NonNull final Collection<RecordedExchange> exchanges,
+            @Nullable final Duration fixedLatency, final boolean recordedLatency) {
+        Objects.requireNonNull(exchanges, "exchanges must not be null");
+        final Map<String, List<RecordedExchange>> byKey = new HashMap<>();
+        exchanges.forEach(exchange -> byKey.computeIfAbsent(key(exchange.method(), exchange.uri().toString()),
+                k -> new ArrayList<>()).add(exchange));
+        this.exchanges = Map.copyOf(byKey);
+        final Map<String, AtomicInteger> positions = new HashMap<>();
+        byKey.keySet().forEach(key -> positions.put(key, new AtomicInteger()));
+        this.positions = Map.copyOf(positions);
+        this.fixedLatency = fixedLatency;
+        this.recordedLatency = recordedLatency;
+    }
+
+    @NonNull
+    public static ReplayTransport load(@NonNull final Path recordingFile) throws IOException {
+        Objects.requireNonNull(recordingFile, "recordingFile must not be null");
+        final List<RecordedExchange> exchanges = Files.readAllLines(recordingFile, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .map(ExchangeFormat::fromLine)
+                .toList();
+        return new ReplayTransport(exchanges);
+    }
+
+    /**
+     * Returns a transport that serves the same exchanges and delays every response by the given latency.
+     */
+    @NonNull
+    public ReplayTransport withFixedLatency(@NonNull final Duration latency) {
+        Objects.requireNonNull(latency, "latency must not be null");
+        return new ReplayTransport(allExchanges(), latency, false);
+    }
+
+    /**
+     * Returns a transport that serves the same exchanges and delays every response by the latency that was measured
+     * while recording it.
+     */
+    @NonNull
+    public ReplayTransport withRecordedLatency() {
+        return new ReplayTransport(allExchanges(), null, true);
+    }
+
+    @NonNull
+    @Override
+    public TransportResponse send(@NonNull final TransportRequest request) throws IOException, InterruptedException {
+        Objects.requireNonNull(request, "request must not be null");
+        final String key = key(request.method(), request.uri().toString());
+        final List<RecordedExchange> candidates = exchanges.get(key);
+        if (candidates == null) {
+            throw new IOException("No recorded exchange for " + key);
+        }
+        final int position = positions.get(key).getAndIncrement();
+        final RecordedExchange exchange = candidates.get(Math.min(position, candidates.size() - 1));
+        if (fixedLatency != null) {
+            Thread.sleep(fixedLatency);
+        } else if (recordedLatency && exchange.durationMillis() > 0) {
+            Thread.sleep(exchange.durationMillis());
+        }
+        return exchange.toResponse();
+    }
+
+    @NonNull
+    private List<RecordedExchange> allExchanges() {
+        return exchanges.values().stream().flatMap(List::stream).toList();
+    }
+
+    @NonNull
+    private static String key(@NonNull final String method, @NonNull final String uri) {
+        return method + " " + uri;
+    }
+}
@@ -0,0 +1,25 @@
+package com.openelements.cardless.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Response whose body is read incrementally. The body must be closed by the caller.
+ */
+public record StreamingTransportResponse(int statusCode, @NonNull Map<String, List<String>> headers,
+                                         @NonNull InputStream body) implements AutoCloseable {
+
+    public StreamingTransportResponse {
+        headers = headers == null ? Map.of() : Map.copyOf(headers);
+        Objects.requireNonNull(body, "body must not be null");
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.openelements.cardless.transport;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+public record TransportRequest(@NonNull String method, @NonNull URI uri, @NonNull Map<String, String> headers,
+                               @Nullable String body) {
+
+    public TransportRequest {
+        Objects.requireNonNull(method, "method must not be null");
+        Objects.requireNonNull(uri, "uri must not be null");
+        headers = headers == null ? Map.of() : Map.copyOf(headers);
+    }
+}
@@ -0,0 +1,22 @@
+package com.openelements.cardless.transport;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.jspecify.annotations.NonNull;
+
+public record TransportResponse(int statusCode, @NonNull Map<String, List<String>> headers, @NonNull String body) {
+
+    public TransportResponse {
+        headers = headers == null ? Map.of() : Map.copyOf(headers);
+        body = body == null ? "" : body;
+    }
+
+    @NonNull
+    public Optional<String> firstHeader(@NonNull final String name) {
+        return headers.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                .flatMap(entry -> entry.getValue().stream())
+                .findFirst();
+    }
+}
@@ -5,5 +5,11 @@ module com.openelements.cardless {
     requires org.slf4j;
 
     exports com.openelements.cardless;
+    exports com.openelements.cardless.cache;
     exports com.openelements.cardless.data;
+    exports com.openelements.cardless.money;
+    exports com.openelements.cardless.reconciliation;
+    exports com.openelements.cardless.resilience;
+    exports com.openelements.cardless.search;
+    exports com.openelements.cardless.transport;
 }
\ No newline at end of file
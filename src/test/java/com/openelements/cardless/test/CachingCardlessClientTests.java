@@ -0,0 +1,150 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.cache.BalanceCacheConfig;
+import com.openelements.cardless.cache.CachedValue;
+import com.openelements.cardless.cache.CachingCardlessClient;
+import com.openelements.cardless.cache.CachingCardlessClient.Endpoint;
+import com.openelements.cardless.data.Balance;
+import com.openelements.cardless.transport.ReplayTransport;
+import com.openelements.cardless.transport.TransportResponse;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CachingCardlessClientTests {
+
+    private static final String ACCOUNT_ID = ReplayTransportTests.ACCOUNT_ID;
+
+    private static CardlessClient createCountingClient(AtomicInteger balanceCalls) throws Exception {
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        return CardlessClient.create("id", "key", request -> {
+            if (request.uri().getPath().endsWith("/balances/")) {
+                balanceCalls.incrementAndGet();
+            }
+            return replay.send(request);
+        });
+    }
+
+    @Test
+    void testReadsWithinStalenessAreServedLocally(@TempDir Path tempDir) throws Exception {
+        //given
+        AtomicInteger balanceCalls = new AtomicInteger();
+        MutableClock clock = new MutableClock();
+        CachingCardlessClient client = new CachingCardlessClient(createCountingClient(balanceCalls),
+                new BalanceCacheConfig(Duration.ofMinutes(15), 2), tempDir.resolve("cache.json"), clock);
+
+        //when
+        client.getBalances(ACCOUNT_ID, Duration.ofHours(1));
+        clock.advance(Duration.ofMinutes(30));
+        CachedValue<List<Balance>> cached = client.getBalances(ACCOUNT_ID, Duration.ofHours(1));
+
+        //then
+        Assertions.assertEquals(1, balanceCalls.get());
+        Assertions.assertEquals(Duration.ofMinutes(30), cached.age(clock));
+        Assertions.assertEquals(1, client.getRemainingQuota(ACCOUNT_ID, Endpoint.BALANCES));
+    }
+
+    @Test
+    void testCachedValueIsReturnedOnceQuotaIsUsedUp(@TempDir Path tempDir) throws Exception {
+        //given
+        AtomicInteger balanceCalls = new AtomicInteger();
+        MutableClock clock = new MutableClock();
+        CachingCardlessClient client = new CachingCardlessClient(createCountingClient(balanceCalls),
+                new BalanceCacheConfig(Duration.ofMinutes(15), 2), tempDir.resolve("cache.json"), clock);
+
+        //when
+        client.getBalances(ACCOUNT_ID, Duration.ZERO);
+        clock.advance(Duration.ofMinutes(1));
+        CachedValue<List<Balance>> freshest = client.getBalances(ACCOUNT_ID, Duration.ZERO);
+        clock.advance(Duration.ofMinutes(1));
+        CachedValue<List<Balance>> cached = client.getBalances(ACCOUNT_ID, Duration.ZERO);
+        clock.advance(Duration.ofDays(1));
+        client.getBalances(ACCOUNT_ID, Duration.ZERO);
+
+        //then
+        Assertions.assertEquals(freshest.fetchedAt(), cached.fetchedAt());
+        Assertions.assertEquals(3, balanceCalls.get());
+    }
+
+    @Test
+    void testCacheSurvivesRestart(@TempDir Path tempDir) throws Exception {
+        //given
+        AtomicInteger balanceCalls = new AtomicInteger();
+        MutableClock clock = new MutableClock();
+        Path cacheFile = tempDir.resolve("cache.json");
+        BalanceCacheConfig config = BalanceCacheConfig.defaults();
+        new CachingCardlessClient(createCountingClient(balanceCalls), config, cacheFile, clock)
+                .getBalances(ACCOUNT_ID, Duration.ZERO);
+        new CachingCardlessClient(createCountingClient(balanceCalls), config, cacheFile, clock)
+                .getAccount(ACCOUNT_ID, Duration.ZERO);
+
+        //when
+        CachingCardlessClient restarted = new CachingCardlessClient(createCountingClient(balanceCalls), config,
+                cacheFile, clock);
+        CachedValue<List<Balance>> balances = restarted.getBalances(ACCOUNT_ID, Duration.ofMinutes(5));
+
+        //then
+        Assertions.assertEquals(1, balanceCalls.get());
+        Assertions.assertEquals(new BigDecimal("1235.50"), balances.value().get(0).balanceAmount().amount());
+        Assertions.assertEquals("SANDBOXFINANCE_SFIN0000",
+                restarted.getAccount(ACCOUNT_ID, Duration.ofMinutes(5)).value().institutionId());
+        Assertions.assertEquals(3, restarted.getRemainingQuota(ACCOUNT_ID, Endpoint.BALANCES));
+    }
+
+    @Test
+    void testCachedValueIsReturnedWhenApiRateLimitIsReached() throws Exception {
+        //given
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        AtomicInteger balanceCalls = new AtomicInteger();
+        CardlessClient delegate = CardlessClient.create("id", "key", request -> {
+            if (request.uri().getPath().endsWith("/balances/") && balanceCalls.incrementAndGet() > 1) {
+                return new TransportResponse(429, Map.of(), """
+                        {"summary": "Rate limit exceeded", "detail": "Daily limit reached", "status_code": 429}
+                        """);
+            }
+            return replay.send(request);
+        });
+        CachingCardlessClient client = new CachingCardlessClient(delegate, BalanceCacheConfig.defaults());
+
+        //when
+        CachedValue<List<Balance>> first = client.getBalances(ACCOUNT_ID, Duration.ZERO);
+        CachedValue<List<Balance>> limited = client.getBalances(ACCOUNT_ID, Duration.ZERO);
+        CachedValue<List<Balance>> afterLimit = client.getBalances(ACCOUNT_ID, Duration.ZERO);
+
+        //then
+        Assertions.assertEquals(first.fetchedAt(), limited.fetchedAt());
+        Assertions.assertEquals(first.fetchedAt(), afterLimit.fetchedAt());
+        Assertions.assertEquals(2, balanceCalls.get());
+        Assertions.assertEquals(0, client.getRemainingQuota(ACCOUNT_ID, Endpoint.BALANCES));
+    }
+
+    @Test
+    void testAccountMetadataHasNoDailyQuota() throws Exception {
+        //given
+        AtomicInteger accountCalls = new AtomicInteger();
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        CardlessClient delegate = CardlessClient.create("id", "key", request -> {
+            if (request.uri().getPath().endsWith(ACCOUNT_ID + "/")) {
+                accountCalls.incrementAndGet();
+            }
+            return replay.send(request);
+        });
+        CachingCardlessClient client = new CachingCardlessClient(delegate, BalanceCacheConfig.defaults());
+
+        //when
+        for (int i = 0; i < 6; i++) {
+            client.getAccount(ACCOUNT_ID, Duration.ZERO);
+        }
+
+        //then
+        Assertions.assertEquals(6, accountCalls.get());
+        Assertions.assertEquals(Integer.MAX_VALUE, client.getRemainingQuota(ACCOUNT_ID, Endpoint.ACCOUNT));
+    }
+}
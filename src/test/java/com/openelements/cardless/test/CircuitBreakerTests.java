@@ -0,0 +1,81 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.CardlessException;
+import com.openelements.cardless.InstitutionUnavailableException;
+import com.openelements.cardless.resilience.CircuitBreaker;
+import com.openelements.cardless.resilience.CircuitBreakerConfig;
+import com.openelements.cardless.resilience.CircuitBreakingCardlessClient;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTests {
+
+    private static final String BROKEN_ACCOUNT_ID = "00000000-0000-0000-0000-000000000000";
+
+    @Test
+    void testOpenInstitutionFailsFastWhileOthersWork() throws Exception {
+        //given
+        CircuitBreakerConfig config = new CircuitBreakerConfig(0.5, Duration.ofSeconds(10), 0.8, 4, 2,
+                Duration.ofMinutes(1), 1);
+        CircuitBreakingCardlessClient client = new CircuitBreakingCardlessClient(
+                CardlessClient.create("id", "key", ReplayTransportTests.loadSession()), config);
+
+        //when
+        Assertions.assertThrows(CardlessException.class, () -> client.getTransactions(BROKEN_ACCOUNT_ID));
+        Assertions.assertThrows(CardlessException.class, () -> client.getTransactions(BROKEN_ACCOUNT_ID));
+
+        //then
+        InstitutionUnavailableException exception = Assertions.assertThrows(InstitutionUnavailableException.class,
+                () -> client.getTransactions(BROKEN_ACCOUNT_ID));
+        Assertions.assertEquals("BROKENBANK_BRKNDEXX", exception.getInstitutionId());
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, client.getState("BROKENBANK_BRKNDEXX"));
+        Assertions.assertEquals(2, client.getTransactions(ReplayTransportTests.ACCOUNT_ID)
+                .bookedTransactions().size());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, client.getState("SANDBOXFINANCE_SFIN0000"));
+    }
+
+    @Test
+    void testHalfOpenTrialCallClosesCircuit() {
+        //given
+        MutableClock clock = new MutableClock();
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                new CircuitBreakerConfig(0.5, Duration.ofSeconds(1), 1.0, 2, 2, Duration.ofSeconds(30), 1), clock);
+
+        //when
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission(), Duration.ofMillis(10));
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission(), Duration.ofMillis(10));
+
+        //then
+        Assertions.assertNull(circuitBreaker.tryAcquirePermission());
+        clock.advance(Duration.ofSeconds(31));
+        CircuitBreaker.Permission trial = circuitBreaker.tryAcquirePermission();
+        Assertions.assertNotNull(trial);
+        Assertions.assertNull(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(trial, Duration.ofMillis(10));
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testStaleOutcomeDoesNotCountAsTrialCall() {
+        //given
+        MutableClock clock = new MutableClock();
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                new CircuitBreakerConfig(0.5, Duration.ofSeconds(1), 1.0, 2, 2, Duration.ofSeconds(30), 1), clock);
+        CircuitBreaker.Permission slowCall = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission(), Duration.ofMillis(10));
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission(), Duration.ofMillis(10));
+        clock.advance(Duration.ofSeconds(31));
+        CircuitBreaker.Permission trial = circuitBreaker.tryAcquirePermission();
+
+        //when
+        circuitBreaker.onSuccess(slowCall, Duration.ofMillis(10));
+
+        //then
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        Assertions.assertNull(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure(trial, Duration.ofMillis(10));
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,90 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.data.Institution;
+import com.openelements.cardless.search.InstitutionIndex;
+import com.openelements.cardless.search.InstitutionMatch;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InstitutionIndexTests {
+
+    private static Institution institution(String id, String name, String bic) {
+        return new Institution(id, name, bic, "90", "90", null);
+    }
+
+    private static InstitutionIndex createIndex() {
+        InstitutionIndex index = new InstitutionIndex();
+        index.update("de", List.of(
+                institution("SPARKASSE_DORTMUND_DORTDE33XXX", "Sparkasse Dortmund", "DORTDE33XXX"),
+                institution("SPARKASSE_DUESSELDORF_DUSSDEDDXXX", "Stadtsparkasse Düsseldorf", "DUSSDEDDXXX"),
+                institution("DEUTSCHE_BANK_DEUTDEFF", "Deutsche Bank", "DEUTDEFF")));
+        index.update("fr", List.of(
+                institution("CREDIT_AGRICOLE_AGRIFRPP", "Crédit Agricole", "AGRIFRPP"),
+                institution("DEUTSCHE_BANK_DEUTDEFF", "Deutsche Bank", "DEUTDEFF")));
+        return index;
+    }
+
+    @Test
+    void testPrefixSearch() {
+        //given
+        InstitutionIndex index = createIndex();
+
+        //when
+        List<InstitutionMatch> matches = index.search("spark dort", 5);
+
+        //then
+        Assertions.assertEquals(1, matches.size());
+        Assertions.assertEquals("Sparkasse Dortmund", matches.get(0).institution().name());
+    }
+
+    @Test
+    void testAccentAndCaseInsensitiveSearch() {
+        //given
+        InstitutionIndex index = createIndex();
+
+        //then
+        Assertions.assertEquals("Crédit Agricole", index.search("CREDIT agr", 5).get(0).institution().name());
+        Assertions.assertEquals("Stadtsparkasse Düsseldorf",
+                index.search("dusseldorf", 5).get(0).institution().name());
+    }
+
+    @Test
+    void testTypoTolerantSearch() {
+        //given
+        InstitutionIndex index = createIndex();
+
+        //when
+        List<InstitutionMatch> matches = index.search("Sparkase Dortmnd", 5);
+
+        //then
+        Assertions.assertEquals("Sparkasse Dortmund", matches.get(0).institution().name());
+    }
+
+    @Test
+    void testIdentifierLookupAndDeduplication() {
+        //given
+        InstitutionIndex index = createIndex();
+
+        //then
+        Assertions.assertEquals(4, index.size());
+        Assertions.assertEquals(1, index.findByBic("deutdeff").size());
+        Assertions.assertEquals("Deutsche Bank", index.search("DEUTDEFF", 5).get(0).institution().name());
+        Assertions.assertEquals(1, index.search("deutsche", 5).size());
+        Assertions.assertTrue(index.findById("CREDIT_AGRICOLE_AGRIFRPP").isPresent());
+    }
+
+    @Test
+    void testUpdateReplacesCountry() {
+        //given
+        InstitutionIndex index = createIndex();
+
+        //when
+        index.update("fr", List.of(institution("BNP_PARIBAS_BNPAFRPP", "BNP Paribas", "BNPAFRPP")));
+
+        //then
+        Assertions.assertTrue(index.findById("CREDIT_AGRICOLE_AGRIFRPP").isEmpty());
+        Assertions.assertEquals("BNP Paribas", index.search("parib", 5).get(0).institution().name());
+        Assertions.assertEquals(1, index.search("deutsche", 5).size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.data.Amount;
+import com.openelements.cardless.data.TransactionView;
+import com.openelements.cardless.money.Money;
+import com.openelements.cardless.money.MoneyArrays;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MoneyTests {
+
+    @Test
+    void testParse() {
+        Assertions.assertEquals(new Money("EUR", -1500), Money.parse("EUR", "-15.00"));
+        Assertions.assertEquals(new Money("EUR", 1250), Money.parse("EUR", "12.5"));
+        Assertions.assertEquals(new Money("EUR", 700), Money.parse("EUR", "7"));
+        Assertions.assertEquals(new Money("EUR", 1999), Money.parse("EUR", "19.9900"));
+        Assertions.assertEquals(new Money("JPY", 1500), Money.parse("JPY", "1500"));
+        Assertions.assertEquals(new Money("KWD", 1250), Money.parse("KWD", "1.25"));
+        Assertions.assertTrue(Money.tryParse("EUR", "0.001").isEmpty());
+        Assertions.assertTrue(Money.tryParse("EUR", "1e5").isEmpty());
+        Assertions.assertTrue(Money.tryParse("EUR", "-").isEmpty());
+        Assertions.assertTrue(Money.tryParse("EUR", "99999999999999999999").isEmpty());
+    }
+
+    @Test
+    void testExactConversion() {
+        //given
+        Amount amount = new Amount("EUR", new BigDecimal("-15.00"));
+
+        //then
+        Assertions.assertEquals(new Money("EUR", -1500), Money.of(amount));
+        Assertions.assertEquals(amount, Money.of(amount).toAmount());
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> Money.of(new Amount("EUR", new BigDecimal("0.005"))));
+    }
+
+    @Test
+    void testArithmeticIsOverflowChecked() {
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> new Money("EUR", Long.MAX_VALUE).add(new Money("EUR", 1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new Money("EUR", 1).add(new Money("USD", 1)));
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> MoneyArrays.sum(new long[]{Long.MAX_VALUE, 1}));
+        Assertions.assertEquals(-1, MoneyArrays.sum(new long[]{Long.MAX_VALUE, Long.MIN_VALUE}));
+        Assertions.assertEquals(6, MoneyArrays.sum(new long[]{1, 2, 3}));
+        Assertions.assertEquals(Long.MAX_VALUE, MoneyArrays.sum(new long[]{Long.MAX_VALUE, 1, -1}));
+        Assertions.assertEquals(Long.MIN_VALUE, MoneyArrays.sum(new long[]{Long.MIN_VALUE, -1, 1}));
+        Assertions.assertEquals(Long.MAX_VALUE - 2,
+                MoneyArrays.sum(new long[]{Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, -1}));
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> MoneyArrays.sum(new long[]{Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE}));
+        Assertions.assertEquals(2, MoneyArrays.countGreaterThan(new long[]{-5, 0, 5, 10}, 0));
+    }
+
+    @Test
+    void testTransactionViewProvidesMoney() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+
+        //when
+        List<TransactionView> views = client.getTransactionViews(ReplayTransportTests.ACCOUNT_ID);
+
+        //then
+        long[] minorUnits = views.stream().mapToLong(view -> view.transactionMoney().minorUnits()).toArray();
+        Assertions.assertArrayEquals(new long[]{-1500, 125050, -999}, minorUnits);
+        Assertions.assertEquals(122551, MoneyArrays.sum(minorUnits));
+    }
+}
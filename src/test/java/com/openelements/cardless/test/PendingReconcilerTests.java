@@ -0,0 +1,130 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.data.Amount;
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.CounterpartyAccount;
+import com.openelements.cardless.data.PendingTransaction;
+import com.openelements.cardless.data.Transactions;
+import com.openelements.cardless.reconciliation.PendingReconciler;
+import com.openelements.cardless.reconciliation.ReconciliationEvent;
+import com.openelements.cardless.reconciliation.ReconciliationEvent.DropReason;
+import com.openelements.cardless.reconciliation.ReconciliationEvent.PendingDropped;
+import com.openelements.cardless.reconciliation.ReconciliationEvent.PendingSettled;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PendingReconcilerTests {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 5, 3);
+
+    private static PendingTransaction pending(String amount, String text) {
+        return new PendingTransaction(new Amount("EUR", new BigDecimal(amount)), DATE, text, null);
+    }
+
+    private static BookedTransaction booked(String id, String amount, String text) {
+        return new BookedTransaction(id, "Counterparty", new CounterpartyAccount(null),
+                new Amount("EUR", new BigDecimal(amount)), DATE, DATE, text, null);
+    }
+
+    @Test
+    void testPendingIsSettledByBookedTransaction() {
+        //given
+        PendingReconciler reconciler = new PendingReconciler(Duration.ofDays(14));
+        PendingTransaction streaming = pending("-9.99", "Streaming  Service");
+        reconciler.reconcile(new Transactions(List.of(), List.of(streaming, pending("-3.50", "Coffee"))));
+
+        //when
+        List<ReconciliationEvent> events = reconciler.reconcile(new Transactions(
+                List.of(booked("1", "-9.990", "streaming service")), List.of(pending("-3.50", "Coffee"))));
+
+        //then
+        Assertions.assertEquals(1, events.size());
+        PendingSettled settled = (PendingSettled) events.get(0);
+        Assertions.assertSame(streaming, settled.pendingTransaction());
+        Assertions.assertEquals("1", settled.bookedTransaction().transactionId());
+        Assertions.assertEquals(1, reconciler.getPendingCount());
+    }
+
+    @Test
+    void testPendingWithoutBookingIsDropped() {
+        //given
+        PendingReconciler reconciler = new PendingReconciler(Duration.ofDays(14));
+        reconciler.reconcile(new Transactions(List.of(), List.of(pending("-3.50", "Coffee"))));
+
+        //when
+        List<ReconciliationEvent> events = reconciler.reconcile(new Transactions(List.of(), List.of()));
+
+        //then
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(DropReason.DISAPPEARED, ((PendingDropped) events.get(0)).reason());
+        Assertions.assertEquals(0, reconciler.getPendingCount());
+    }
+
+    @Test
+    void testPendingAndBookingOfTheSameRunArePaired() {
+        //given
+        PendingReconciler reconciler = new PendingReconciler(Duration.ofDays(14));
+        BookedTransaction rent = booked("1", "-800.00", "Rent");
+        PendingTransaction pendingRent = pending("-800.00", "Rent");
+        reconciler.reconcile(new Transactions(List.of(), List.of()));
+
+        //when
+        List<ReconciliationEvent> firstSeen = reconciler.reconcile(
+                new Transactions(List.of(rent), List.of(pendingRent)));
+        List<ReconciliationEvent> stillListed = reconciler.reconcile(
+                new Transactions(List.of(rent), List.of(pendingRent)));
+        List<ReconciliationEvent> removed = reconciler.reconcile(new Transactions(List.of(rent), List.of()));
+
+        //then
+        Assertions.assertEquals(1, firstSeen.size());
+        Assertions.assertSame(pendingRent, ((PendingSettled) firstSeen.get(0)).pendingTransaction());
+        Assertions.assertTrue(stillListed.isEmpty());
+        Assertions.assertTrue(removed.isEmpty());
+        Assertions.assertEquals(0, reconciler.getPendingCount());
+    }
+
+    @Test
+    void testSettledPendingStillListedIsNotReportedAgain() {
+        //given
+        PendingReconciler reconciler = new PendingReconciler(Duration.ofDays(14));
+        PendingTransaction coffee = pending("-3.50", "Coffee");
+        BookedTransaction booked = booked("1", "-3.50", "Coffee");
+        reconciler.reconcile(new Transactions(List.of(), List.of(coffee)));
+
+        //when
+        List<ReconciliationEvent> settledRun = reconciler.reconcile(
+                new Transactions(List.of(booked), List.of(coffee)));
+        List<ReconciliationEvent> stillListedRun = reconciler.reconcile(
+                new Transactions(List.of(booked), List.of(coffee)));
+        List<ReconciliationEvent> removedRun = reconciler.reconcile(new Transactions(List.of(booked), List.of()));
+
+        //then
+        Assertions.assertEquals(1, settledRun.size());
+        Assertions.assertInstanceOf(PendingSettled.class, settledRun.get(0));
+        Assertions.assertTrue(stillListedRun.isEmpty());
+        Assertions.assertTrue(removedRun.isEmpty());
+        Assertions.assertEquals(0, reconciler.getPendingCount());
+    }
+
+    @Test
+    void testBookedTransactionsWithoutId() {
+        //given
+        PendingReconciler reconciler = new PendingReconciler(Duration.ofDays(14));
+        reconciler.reconcile(new Transactions(List.of(booked(null, "-800.00", "Rent")),
+                List.of(pending("-3.50", "Coffee"), pending("-3.50", "Coffee"))));
+
+        //when
+        List<ReconciliationEvent> events = reconciler.reconcile(new Transactions(
+                List.of(booked(null, "-800.00", "Rent"), booked(null, "-3.50", "Coffee"),
+                        booked(null, "-3.50", "Coffee")), List.of()));
+
+        //then
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertTrue(events.stream().allMatch(PendingSettled.class::isInstance));
+        Assertions.assertEquals(0, reconciler.getPendingCount());
+    }
+}
@@ -0,0 +1,247 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.CardlessException;
+import com.openelements.cardless.InstitutionUnavailableException;
+import com.openelements.cardless.cache.BalanceCacheConfig;
+import com.openelements.cardless.cache.CachingCardlessClient;
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.PendingTransaction;
+import com.openelements.cardless.data.Requisition;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.resilience.CircuitBreaker;
+import com.openelements.cardless.resilience.CircuitBreakerConfig;
+import com.openelements.cardless.resilience.CircuitBreakingCardlessClient;
+import com.openelements.cardless.transport.CardlessTransport;
+import com.openelements.cardless.transport.ReplayTransport;
+import com.openelements.cardless.transport.StreamingTransportResponse;
+import com.openelements.cardless.transport.TransportRequest;
+import com.openelements.cardless.transport.TransportResponse;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PublisherTests {
+
+    private static class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final List<T> items = new CopyOnWriteArrayList<>();
+
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(List.copyOf(items));
+        }
+
+        List<T> await() throws Exception {
+            return result.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testTransactionsArePublishedOneByOne() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+        CollectingSubscriber<Transaction> subscriber = new CollectingSubscriber<>();
+
+        //when
+        client.publishTransactions(ReplayTransportTests.ACCOUNT_ID).subscribe(subscriber);
+
+        //then
+        List<Transaction> transactions = subscriber.await();
+        Assertions.assertEquals(3, transactions.size());
+        Assertions.assertInstanceOf(BookedTransaction.class, transactions.get(0));
+        Assertions.assertEquals("Freshto Ltd", ((BookedTransaction) transactions.get(0)).counterpartyName());
+        Assertions.assertInstanceOf(PendingTransaction.class, transactions.get(2));
+    }
+
+    @Test
+    void testRequisitionPagesAreFetchedOnDemand() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+        CollectingSubscriber<Requisition> subscriber = new CollectingSubscriber<>();
+
+        //when
+        client.publishRequisitions(1).subscribe(subscriber);
+
+        //then
+        Assertions.assertEquals(List.of("req-1", "req-2"), subscriber.await().stream().map(Requisition::id).toList());
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejectedOnCall() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+
+        //then
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> client.publishTransactions(List.of(ReplayTransportTests.ACCOUNT_ID), 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> client.publishRequisitions(0));
+    }
+
+    @Test
+    void testFanOutKeepsAccountOrderAndReportsErrors() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+        CollectingSubscriber<Transaction> subscriber = new CollectingSubscriber<>();
+        CollectingSubscriber<Transaction> failingSubscriber = new CollectingSubscriber<>();
+
+        //when
+        client.publishTransactions(List.of(ReplayTransportTests.ACCOUNT_ID, ReplayTransportTests.ACCOUNT_ID), 2)
+                .subscribe(subscriber);
+        client.publishTransactions(List.of(ReplayTransportTests.ACCOUNT_ID, "00000000-0000-0000-0000-000000000000"), 2)
+                .subscribe(failingSubscriber);
+
+        //then
+        Assertions.assertEquals(6, subscriber.await().size());
+        Exception exception = Assertions.assertThrows(Exception.class, failingSubscriber::await);
+        Assertions.assertInstanceOf(CardlessException.class, exception.getCause());
+    }
+
+    private static final int STREAMED_TRANSACTIONS = 5_000;
+
+    private static CardlessClient createStreamingClient(AtomicLong bytesRead) throws Exception {
+        StringBuilder json = new StringBuilder("{\"transactions\": {\"booked\": [");
+        for (int i = 0; i < STREAMED_TRANSACTIONS; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"transactionId\": \"").append(i).append("\", ")
+                    .append("\"bookingDate\": \"2024-05-02\", \"valueDate\": \"2024-05-02\", ")
+                    .append("\"transactionAmount\": {\"amount\": \"-15.00\", \"currency\": \"EUR\"}, ")
+                    .append("\"remittanceInformationUnstructured\": \"Order ").append(i).append("\"}");
+        }
+        byte[] body = json.append("], \"pending\": []}}").toString().getBytes(StandardCharsets.UTF_8);
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        return CardlessClient.create("id", "key", new CardlessTransport() {
+            @Override
+            public TransportResponse send(TransportRequest request) throws IOException, InterruptedException {
+                return replay.send(request);
+            }
+
+            @Override
+            public StreamingTransportResponse sendStreaming(TransportRequest request) {
+                return new StreamingTransportResponse(200, Map.of(), new FilterInputStream(
+                        new ByteArrayInputStream(body)) {
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int count = super.read(buffer, offset, length);
+                        bytesRead.addAndGet(Math.max(0, count));
+                        return count;
+                    }
+                });
+            }
+        });
+    }
+
+    private static void requestFiveTransactions(CardlessClient client) throws Exception {
+        CountDownLatch received = new CountDownLatch(5);
+        client.publishTransactions(ReplayTransportTests.ACCOUNT_ID).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(5);
+            }
+
+            @Override
+            public void onNext(Transaction item) {
+                received.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        Assertions.assertTrue(received.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+    }
+
+    @Test
+    void testSlowSubscriberThrottlesReading() throws Exception {
+        //given
+        AtomicLong bytesRead = new AtomicLong();
+        CardlessClient client = createStreamingClient(bytesRead);
+
+        //when
+        requestFiveTransactions(client);
+
+        //then
+        Assertions.assertTrue(bytesRead.get() < 32 * 1024, "read " + bytesRead.get() + " bytes");
+    }
+
+    @Test
+    void testWrappedClientsKeepThrottling() throws Exception {
+        //given
+        AtomicLong cachingBytesRead = new AtomicLong();
+        AtomicLong circuitBreakingBytesRead = new AtomicLong();
+        CardlessClient caching = new CachingCardlessClient(createStreamingClient(cachingBytesRead),
+                BalanceCacheConfig.defaults());
+        CardlessClient circuitBreaking = new CircuitBreakingCardlessClient(
+                createStreamingClient(circuitBreakingBytesRead));
+
+        //when
+        requestFiveTransactions(caching);
+        requestFiveTransactions(circuitBreaking);
+
+        //then
+        Assertions.assertTrue(cachingBytesRead.get() < 32 * 1024, "read " + cachingBytesRead.get() + " bytes");
+        Assertions.assertTrue(circuitBreakingBytesRead.get() < 32 * 1024,
+                "read " + circuitBreakingBytesRead.get() + " bytes");
+    }
+
+    @Test
+    void testStreamingFailuresOpenCircuit() throws Exception {
+        //given
+        CircuitBreakerConfig config = new CircuitBreakerConfig(0.5, Duration.ofSeconds(10), 0.8, 4, 2,
+                Duration.ofMinutes(1), 1);
+        CircuitBreakingCardlessClient client = new CircuitBreakingCardlessClient(
+                CardlessClient.create("id", "key", ReplayTransportTests.loadSession()), config);
+        String brokenAccount = "00000000-0000-0000-0000-000000000000";
+
+        //when
+        for (int i = 0; i < 2; i++) {
+            CollectingSubscriber<Transaction> subscriber = new CollectingSubscriber<>();
+            client.publishTransactions(brokenAccount).subscribe(subscriber);
+            Assertions.assertThrows(Exception.class, subscriber::await);
+        }
+        CollectingSubscriber<Transaction> rejected = new CollectingSubscriber<>();
+        client.publishTransactions(brokenAccount).subscribe(rejected);
+
+        //then
+        Exception exception = Assertions.assertThrows(Exception.class, rejected::await);
+        Assertions.assertInstanceOf(InstitutionUnavailableException.class, exception.getCause());
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, client.getState("BROKENBANK_BRKNDEXX"));
+    }
+}
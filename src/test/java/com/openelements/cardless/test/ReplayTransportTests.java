@@ -0,0 +1,100 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.CardlessException;
+import com.openelements.cardless.data.Institution;
+import com.openelements.cardless.data.Transactions;
+import com.openelements.cardless.transport.CardlessTransport;
+import com.openelements.cardless.transport.RecordedExchange;
+import com.openelements.cardless.transport.RecordingTransport;
+import com.openelements.cardless.transport.ReplayTransport;
+import com.openelements.cardless.transport.TransportRequest;
+import java.net.URI;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReplayTransportTests {
+
+    static final String ACCOUNT_ID = "7e944232-bda9-40bc-b784-660c7ab5fe78";
+
+    static ReplayTransport loadSession() throws Exception {
+        return ReplayTransport.load(Path.of(ReplayTransportTests.class.getResource("/replay/session.jsonl").toURI()));
+    }
+
+    @Test
+    void testReplaySession() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", loadSession());
+
+        //when
+        List<Institution> institutions = client.getInstitutions("de");
+        Transactions transactions = client.getTransactions(ACCOUNT_ID);
+
+        //then
+        Assertions.assertEquals(2, institutions.size());
+        Assertions.assertEquals("Sparkasse Dortmund", institutions.get(1).name());
+        Assertions.assertEquals(2, transactions.bookedTransactions().size());
+        Assertions.assertEquals(new BigDecimal("-15.00"),
+                transactions.bookedTransactions().get(0).transactionAmount().amount());
+        Assertions.assertEquals(1, transactions.pendingTransactions().size());
+        client.deleteRequisition("8126e9fb-93c9-4228-937c-68f0383c2df7");
+    }
+
+    @Test
+    void testUnknownRequestFails() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", loadSession());
+
+        //then
+        Assertions.assertThrows(CardlessException.class, () -> client.getInstitutions("fr"));
+    }
+
+    @Test
+    void testRecordingCanBeReplayed(@TempDir Path tempDir) throws Exception {
+        //given
+        Path recording = tempDir.resolve("recording.jsonl");
+        CardlessTransport transport = new RecordingTransport(loadSession(), recording);
+        CardlessClient client = CardlessClient.create("id", "key", transport);
+
+        //when
+        client.getBalances(ACCOUNT_ID);
+        CardlessClient replayClient = CardlessClient.create("id", "key", ReplayTransport.load(recording));
+
+        //then
+        Assertions.assertEquals(2, Files.readAllLines(recording).size());
+        Assertions.assertEquals(new BigDecimal("1235.50"),
+                replayClient.getBalances(ACCOUNT_ID).get(0).balanceAmount().amount());
+    }
+
+    @Test
+    void testLatencyIsSimulated() throws Exception {
+        //given
+        URI uri = URI.create("https://bankaccountdata.gocardless.com/api/v2/institutions/SANDBOXFINANCE_SFIN0000/");
+        ReplayTransport transport = new ReplayTransport(
+                List.of(new RecordedExchange("GET", uri, 200, Map.of(), "{}", 300)));
+        TransportRequest request = new TransportRequest("GET", uri, Map.of(), null);
+
+        //when
+        long start = System.nanoTime();
+        transport.send(request);
+        Duration withoutLatency = Duration.ofNanos(System.nanoTime() - start);
+        start = System.nanoTime();
+        transport.withRecordedLatency().send(request);
+        Duration recorded = Duration.ofNanos(System.nanoTime() - start);
+        start = System.nanoTime();
+        transport.withFixedLatency(Duration.ofMillis(150)).send(request);
+        Duration fixed = Duration.ofNanos(System.nanoTime() - start);
+
+        //then
+        Assertions.assertTrue(withoutLatency.toMillis() < 100, "took " + withoutLatency);
+        Assertions.assertTrue(recorded.toMillis() >= 300, "took " + recorded);
+        Assertions.assertTrue(fixed.toMillis() >= 150 && fixed.toMillis() < 300, "took " + fixed);
+    }
+}
@@ -0,0 +1,178 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.resilience.HedgingPolicy;
+import com.openelements.cardless.resilience.RetryPolicy;
+import com.openelements.cardless.resilience.RetryingTransport;
+import com.openelements.cardless.transport.TransportRequest;
+import com.openelements.cardless.transport.TransportResponse;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RetryingTransportTests {
+
+    private static final RetryPolicy POLICY = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(5), 2.0,
+            0.5, Set.of(429, 503), Duration.ofSeconds(1), 1);
+
+    private static TransportRequest get(String path) {
+        return new TransportRequest("GET", URI.create("https://bankaccountdata.gocardless.com/api/v2/" + path),
+                Map.of(), null);
+    }
+
+    @Test
+    void testRetriesUntilSuccess() throws Exception {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+        RetryingTransport transport = new RetryingTransport(request -> calls.incrementAndGet() < 3
+                ? new TransportResponse(503, Map.of(), "")
+                : new TransportResponse(200, Map.of(), "[]"), POLICY);
+
+        //when
+        TransportResponse response = transport.send(get("institutions/?country=de"));
+
+        //then
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testRetryAfterAboveMaximumIsNotHonored() throws Exception {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+        RetryingTransport transport = new RetryingTransport(request -> {
+            calls.incrementAndGet();
+            return new TransportResponse(429, Map.of("Retry-After", List.of("3600")), "");
+        }, POLICY);
+
+        //when
+        TransportResponse response = transport.send(get("accounts/abc/balances/"));
+
+        //then
+        Assertions.assertEquals(429, response.statusCode());
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testRateLimitReserveIsNotConsumed() throws Exception {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+        RetryingTransport transport = new RetryingTransport(request -> {
+            calls.incrementAndGet();
+            return new TransportResponse(503, Map.of("HTTP_X_RATELIMIT_ACCOUNT_SUCCESS_REMAINING", List.of("1")), "");
+        }, POLICY);
+
+        //when
+        transport.send(get("accounts/abc/transactions/"));
+
+        //then
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testPostIsNotRetried() throws Exception {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+        RetryingTransport transport = new RetryingTransport(request -> {
+            calls.incrementAndGet();
+            return new TransportResponse(503, Map.of(), "");
+        }, POLICY);
+
+        //when
+        transport.send(new TransportRequest("POST",
+                URI.create("https://bankaccountdata.gocardless.com/api/v2/requisitions/"), Map.of(), "{}"));
+
+        //then
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testSlowLookupIsHedged() throws Exception {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+        RetryingTransport transport = new RetryingTransport(request -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(5_000);
+            }
+            return new TransportResponse(200, Map.of(), "{}");
+        }, POLICY, new HedgingPolicy(Duration.ofMillis(20), 1));
+
+        //when
+        long start = System.nanoTime();
+        TransportResponse response = transport.send(get("accounts/abc/"));
+
+        //then
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000);
+    }
+
+    @Test
+    void testRetryAfterSecondsIsHonored() throws Exception {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+        RetryingTransport transport = new RetryingTransport(request -> calls.incrementAndGet() == 1
+                ? new TransportResponse(429, Map.of("Retry-After", List.of("1")), "")
+                : new TransportResponse(200, Map.of(), "{}"), POLICY);
+
+        //when
+        long start = System.nanoTime();
+        TransportResponse response = transport.send(get("accounts/abc/balances/"));
+
+        //then
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 1_000);
+    }
+
+    @Test
+    void testRetryAfterDateIsHonored() throws Exception {
+        //given
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(5), 2.0, 0.5,
+                Set.of(503), Duration.ofSeconds(5), 1);
+        ZonedDateTime retryAt = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(3);
+        AtomicInteger calls = new AtomicInteger();
+        RetryingTransport transport = new RetryingTransport(request -> calls.incrementAndGet() == 1
+                ? new TransportResponse(503,
+                Map.of("Retry-After", List.of(DateTimeFormatter.RFC_1123_DATE_TIME.format(retryAt))), "")
+                : new TransportResponse(200, Map.of(), "{}"), policy);
+
+        //when
+        long start = System.nanoTime();
+        TransportResponse response = transport.send(get("accounts/abc/balances/"));
+
+        //then
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 1_500);
+    }
+
+    @Test
+    void testBackoffStaysWithinJitterBounds() {
+        //given
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), Duration.ofSeconds(2), 2.0, 0.5,
+                Set.of(503), Duration.ofSeconds(1), 1);
+        RandomGenerator random = new SplittableRandom(42);
+
+        //then
+        Assertions.assertEquals(Duration.ofMillis(400), policy.backoff(3, () -> 0L));
+        Assertions.assertEquals(Duration.ofMillis(200), policy.backoff(3, () -> -1L));
+        Assertions.assertEquals(Duration.ofSeconds(2), policy.backoff(9, () -> 0L));
+        for (int retry = 1; retry <= 9; retry++) {
+            long capped = Math.min(100L << (retry - 1), 2_000);
+            for (int i = 0; i < 1_000; i++) {
+                long backoff = policy.backoff(retry, random).toMillis();
+                Assertions.assertTrue(backoff >= capped / 2 && backoff <= capped, "backoff " + backoff);
+            }
+        }
+    }
+}
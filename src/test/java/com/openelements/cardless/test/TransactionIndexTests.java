@@ -0,0 +1,102 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.data.Amount;
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.CounterpartyAccount;
+import com.openelements.cardless.search.TransactionIndex;
+import com.openelements.cardless.search.TransactionQuery;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TransactionIndexTests {
+
+    private static BookedTransaction transaction(String id, String name, String iban, String amount, String date,
+            String remittance) {
+        return new BookedTransaction(id, name, new CounterpartyAccount(iban), new Amount("EUR", new BigDecimal(amount)),
+                LocalDate.parse(date), LocalDate.parse(date), remittance, null);
+    }
+
+    private static TransactionIndex createIndex() {
+        TransactionIndex index = new TransactionIndex();
+        index.addAll(List.of(
+                transaction("1", "Freshto Ltd", "GB33BUKB20201555555555", "-15.00", "2024-05-02",
+                        "Order RF18INV4711 Freshto"),
+                transaction("2", "Jennifer Houston", "DE89370400440532013000", "1250.50", "2024-05-02",
+                        "Salary May 2024"),
+                transaction("3", "Stadtwerke Köln", "DE02120300000000202051", "-80.00", "2024-04-15",
+                        "Abschlag Strom Mai Vertrag 4711")));
+        return index;
+    }
+
+    private static List<String> ids(List<BookedTransaction> transactions) {
+        return transactions.stream().map(BookedTransaction::transactionId).toList();
+    }
+
+    @Test
+    void testTermsAreCombinedWithAnd() {
+        //given
+        TransactionIndex index = createIndex();
+
+        //then
+        Assertions.assertEquals(List.of("1", "3"), ids(index.search(TransactionQuery.of("4711"))));
+        Assertions.assertEquals(List.of("3"), ids(index.search(TransactionQuery.of("4711 strom"))));
+        Assertions.assertEquals(List.of("3"), ids(index.search(TransactionQuery.of("koln"))));
+        Assertions.assertEquals(List.of("1"), ids(index.search(TransactionQuery.of("rf18inv*"))));
+    }
+
+    @Test
+    void testIbanFragment() {
+        //given
+        TransactionIndex index = createIndex();
+
+        //then
+        Assertions.assertEquals(List.of("2"), ids(index.search(TransactionQuery.of("0532013"))));
+    }
+
+    @Test
+    void testPhraseAndFilters() {
+        //given
+        TransactionIndex index = createIndex();
+
+        //then
+        Assertions.assertEquals(List.of("2"), ids(index.search(TransactionQuery.of("\"salary may\""))));
+        Assertions.assertTrue(index.search(TransactionQuery.of("\"may salary\"")).isEmpty());
+        Assertions.assertEquals(List.of("3"), ids(index.search(TransactionQuery.of("4711")
+                .bookedBetween(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30)))));
+        Assertions.assertEquals(List.of("1"), ids(index.search(TransactionQuery.of("4711")
+                .amountBetween(new BigDecimal("-20"), BigDecimal.ZERO))));
+    }
+
+    @Test
+    void testUpdatedTransactionReplacesIndexedVersion() {
+        //given
+        TransactionIndex index = createIndex();
+
+        //when
+        index.add(transaction("2", "Jennifer Houston", "DE89370400440532013000", "1250.50", "2024-05-02",
+                "Bonus May 2024"));
+
+        //then
+        Assertions.assertEquals(3, index.size());
+        Assertions.assertTrue(index.search(TransactionQuery.of("salary")).isEmpty());
+        Assertions.assertEquals(List.of("2"), ids(index.search(TransactionQuery.of("bonus"))));
+    }
+
+    @Test
+    void testTransactionsWithoutIdAreAllIndexed() {
+        //given
+        TransactionIndex index = new TransactionIndex();
+
+        //when
+        index.add(transaction(null, "Landlord", "DE89370400440532013000", "-800.00", "2024-05-01", "Rent May"));
+        index.add(transaction(null, "Cafe", "DE02120300000000202051", "-3.50", "2024-05-02", "Coffee"));
+
+        //then
+        Assertions.assertEquals(2, index.size());
+        Assertions.assertEquals(1, index.search(TransactionQuery.of("rent")).size());
+        Assertions.assertEquals(1, index.search(TransactionQuery.of("coffee")).size());
+    }
+}
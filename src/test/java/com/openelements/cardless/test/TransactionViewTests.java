@@ -0,0 +1,77 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.data.BookedTransaction;
+import com.openelements.cardless.data.Transaction;
+import com.openelements.cardless.data.TransactionView;
+import com.openelements.cardless.data.Transactions;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TransactionViewTests {
+
+    @Test
+    void testViewsExposeAdditionalFields() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+
+        //when
+        List<TransactionView> views = client.getTransactionViews(ReplayTransportTests.ACCOUNT_ID);
+
+        //then
+        TransactionView first = views.get(0);
+        Assertions.assertTrue(first.isBooked());
+        Assertions.assertEquals("2024050201", first.transactionId());
+        Assertions.assertEquals(new BigDecimal("-15.00"), first.transactionAmount().amount());
+        Assertions.assertEquals(LocalDate.of(2024, 5, 2), first.bookingDate());
+        Assertions.assertEquals("E-4711", first.entryReference());
+        Assertions.assertEquals("PMNT", first.bankTransactionCode());
+        Assertions.assertEquals("abc123", first.internalTransactionId());
+        Assertions.assertEquals("{\"iban\":\"GB33BUKB20201555555555\"}", first.field("creditorAccount"));
+        Assertions.assertFalse(views.get(2).isBooked());
+    }
+
+    @Test
+    void testViewsMatchEagerlyDecodedTransactions() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+
+        //when
+        List<TransactionView> views = client.getTransactionViews(ReplayTransportTests.ACCOUNT_ID);
+        Transactions transactions = client.getTransactions(ReplayTransportTests.ACCOUNT_ID);
+
+        //then
+        List<Transaction> expected = Stream.concat(transactions.bookedTransactions().stream(),
+                transactions.pendingTransactions().stream()).map(Transaction.class::cast).toList();
+        Assertions.assertEquals(expected, views.stream().map(TransactionView::toTransaction).toList());
+        BookedTransaction booked = transactions.bookedTransactions().get(1);
+        Assertions.assertEquals(booked.counterpartyName(), views.get(1).counterpartyName());
+        Assertions.assertEquals(booked.counterpartyAccount(), views.get(1).counterpartyAccount());
+    }
+
+    @Test
+    void testDefaultViewsWrapDecodedTransactions() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+        CardlessClient external = (CardlessClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{CardlessClient.class}, (proxy, method, args) -> method.isDefault()
+                        ? InvocationHandler.invokeDefault(proxy, method, args) : method.invoke(client, args));
+
+        //when
+        List<TransactionView> views = external.getTransactionViews(ReplayTransportTests.ACCOUNT_ID);
+
+        //then
+        Assertions.assertEquals(3, views.size());
+        Assertions.assertEquals("2024050201", views.get(0).transactionId());
+        Assertions.assertEquals(-1500, views.get(0).transactionMoney().minorUnits());
+        Assertions.assertNull(views.get(0).entryReference());
+        Assertions.assertFalse(views.get(2).isBooked());
+        Assertions.assertNull(views.get(2).bookingDate());
+    }
+}
@@ -0,0 +1,151 @@
+package com.openelements.cardless.test;
+
+import com.openelements.cardless.CardlessClient;
+import com.openelements.cardless.WarmUpConfig;
+import com.openelements.cardless.WarmUpReport;
+import com.openelements.cardless.transport.CardlessTransport;
+import com.openelements.cardless.transport.ReplayTransport;
+import com.openelements.cardless.transport.TransportRequest;
+import com.openelements.cardless.transport.TransportResponse;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WarmUpTests {
+
+    @Test
+    void testWarmUpCachesInstitutions() throws Exception {
+        //given
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        AtomicInteger institutionRequests = new AtomicInteger();
+        CardlessTransport transport = request -> {
+            if (request.uri().getPath().endsWith("/institutions/")) {
+                institutionRequests.incrementAndGet();
+            }
+            return replay.send(request);
+        };
+        CardlessClient client = CardlessClient.create("id", "key", transport);
+
+        //when
+        WarmUpReport report = client.warmUp(WarmUpConfig.of("de")).get(30, TimeUnit.SECONDS);
+        client.getInstitutions("de");
+        client.getInstitutions("de");
+
+        //then
+        Assertions.assertTrue(report.isSuccessful());
+        Assertions.assertEquals(2, report.institutionCounts().get("de"));
+        Assertions.assertEquals(2_000, report.mappingIterations());
+        Assertions.assertEquals(1, institutionRequests.get());
+    }
+
+    @Test
+    void testWarmUpReportsFailedCountries() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+        WarmUpConfig config = new WarmUpConfig(List.of("de", "fr"), Duration.ofMinutes(5), 2, Duration.ZERO, 10);
+
+        //when
+        WarmUpReport report = client.warmUp(config).get(30, TimeUnit.SECONDS);
+
+        //then
+        Assertions.assertFalse(report.isSuccessful());
+        Assertions.assertEquals(2, report.institutionCounts().get("de"));
+        Assertions.assertTrue(report.failures().containsKey("institutions:fr"));
+        Assertions.assertEquals(1, report.failures().size());
+    }
+
+    @Test
+    void testNoCachingWithoutWarmUp() throws Exception {
+        //given
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        AtomicInteger institutionRequests = new AtomicInteger();
+        CardlessTransport transport = request -> {
+            if (request.uri().getPath().endsWith("/institutions/")) {
+                institutionRequests.incrementAndGet();
+            }
+            return replay.send(request);
+        };
+        CardlessClient client = CardlessClient.create("id", "key", transport);
+
+        //when
+        client.getInstitutions("de");
+        client.getInstitutions("de");
+
+        //then
+        Assertions.assertEquals(2, institutionRequests.get());
+    }
+
+    @Test
+    void testOnlyConfiguredCountriesAreCached() throws Exception {
+        //given
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        AtomicInteger institutionRequests = new AtomicInteger();
+        CardlessTransport transport = request -> {
+            if (request.uri().getPath().endsWith("/institutions/")) {
+                institutionRequests.incrementAndGet();
+            }
+            return replay.send(request);
+        };
+        CardlessClient client = CardlessClient.create("id", "key", transport);
+        client.warmUp(WarmUpConfig.of("de")).get(30, TimeUnit.SECONDS);
+
+        //when
+        client.warmUp(new WarmUpConfig(List.of(), Duration.ofHours(1), 0, Duration.ZERO, 0)).get(30, TimeUnit.SECONDS);
+        client.getInstitutions("de");
+        client.getInstitutions("de");
+
+        //then
+        Assertions.assertEquals(3, institutionRequests.get());
+    }
+
+    @Test
+    void testConnectionsAreRefreshed() throws Exception {
+        //given
+        ReplayTransport replay = ReplayTransportTests.loadSession();
+        CountDownLatch refreshes = new CountDownLatch(3);
+        CardlessTransport transport = new CardlessTransport() {
+            @Override
+            public TransportResponse send(TransportRequest request) throws IOException, InterruptedException {
+                return replay.send(request);
+            }
+
+            @Override
+            public void warmUp(URI uri, int connections) {
+                refreshes.countDown();
+            }
+        };
+        CardlessClient client = CardlessClient.create("id", "key", transport);
+
+        //when
+        client.warmUp(new WarmUpConfig(List.of(), Duration.ZERO, 1, Duration.ofMillis(20), 0));
+
+        //then
+        Assertions.assertTrue(refreshes.await(10, TimeUnit.SECONDS));
+        client.warmUp(new WarmUpConfig(List.of(), Duration.ZERO, 0, Duration.ZERO, 0)).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testDefaultWarmUpCompletesImmediately() throws Exception {
+        //given
+        CardlessClient client = CardlessClient.create("id", "key", ReplayTransportTests.loadSession());
+        CardlessClient external = (CardlessClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{CardlessClient.class}, (proxy, method, args) -> method.isDefault()
+                        ? InvocationHandler.invokeDefault(proxy, method, args) : method.invoke(client, args));
+
+        //when
+        CompletableFuture<WarmUpReport> readiness = external.warmUp(WarmUpConfig.of("de"));
+
+        //then
+        Assertions.assertTrue(readiness.isDone());
+        Assertions.assertTrue(readiness.get().isSuccessful());
+    }
+}